@@ -7,6 +7,8 @@ import com.intellij.lang.ASTNode;
 import org.intellij.erlang.psi.ErlangCompositeElementType;
 import org.intellij.erlang.psi.ErlangTokenType;
 import org.intellij.erlang.psi.impl.*;
+import org.intellij.erlang.parser.ErlangReparseableElementType;
+import org.intellij.erlang.stubs.ErlangElementTypeFactory;
 
 public interface ErlangTypes {
 
@@ -18,11 +20,11 @@ public interface ErlangTypes {
   IElementType ERL_ARGUMENT_LIST = new ErlangCompositeElementType("ERL_ARGUMENT_LIST");
   IElementType ERL_ASSIGNMENT_EXPRESSION = new ErlangCompositeElementType("ERL_ASSIGNMENT_EXPRESSION");
   IElementType ERL_ATOM_ATTRIBUTE = new ErlangCompositeElementType("ERL_ATOM_ATTRIBUTE");
-  IElementType ERL_ATTRIBUTE = new ErlangCompositeElementType("ERL_ATTRIBUTE");
+  IElementType ERL_ATTRIBUTE = ErlangElementTypeFactory.factory("ERL_ATTRIBUTE");
   IElementType ERL_ATTR_VAL = new ErlangCompositeElementType("ERL_ATTR_VAL");
   IElementType ERL_BEGIN_END_BODY = new ErlangCompositeElementType("ERL_BEGIN_END_BODY");
   IElementType ERL_BEGIN_END_EXPRESSION = new ErlangCompositeElementType("ERL_BEGIN_END_EXPRESSION");
-  IElementType ERL_BEHAVIOUR = new ErlangCompositeElementType("ERL_BEHAVIOUR");
+  IElementType ERL_BEHAVIOUR = ErlangElementTypeFactory.factory("ERL_BEHAVIOUR");
   IElementType ERL_BINARY_EXPRESSION = new ErlangCompositeElementType("ERL_BINARY_EXPRESSION");
   IElementType ERL_BINARY_TYPE = new ErlangCompositeElementType("ERL_BINARY_TYPE");
   IElementType ERL_BIN_BASE_TYPE = new ErlangCompositeElementType("ERL_BIN_BASE_TYPE");
@@ -32,7 +34,7 @@ public interface ErlangTypes {
   IElementType ERL_CALLBACK_SPEC = new ErlangCompositeElementType("ERL_CALLBACK_SPEC");
   IElementType ERL_CASE_EXPRESSION = new ErlangCompositeElementType("ERL_CASE_EXPRESSION");
   IElementType ERL_CATCH_EXPRESSION = new ErlangCompositeElementType("ERL_CATCH_EXPRESSION");
-  IElementType ERL_CLAUSE_BODY = new ErlangCompositeElementType("ERL_CLAUSE_BODY");
+  IElementType ERL_CLAUSE_BODY = ErlangReparseableElementType.factory("ERL_CLAUSE_BODY");
   IElementType ERL_CLAUSE_GUARD = new ErlangCompositeElementType("ERL_CLAUSE_GUARD");
   IElementType ERL_COLON_QUALIFIED_EXPRESSION = new ErlangCompositeElementType("ERL_COLON_QUALIFIED_EXPRESSION");
   IElementType ERL_COMP_OP_EXPRESSION = new ErlangCompositeElementType("ERL_COMP_OP_EXPRESSION");
@@ -40,17 +42,17 @@ public interface ErlangTypes {
   IElementType ERL_CONFIG_EXPRESSION = new ErlangCompositeElementType("ERL_CONFIG_EXPRESSION");
   IElementType ERL_CR_CLAUSE = new ErlangCompositeElementType("ERL_CR_CLAUSE");
   IElementType ERL_CR_CLAUSES = new ErlangCompositeElementType("ERL_CR_CLAUSES");
-  IElementType ERL_EXPORT = new ErlangCompositeElementType("ERL_EXPORT");
-  IElementType ERL_EXPORT_FUNCTION = new ErlangCompositeElementType("ERL_EXPORT_FUNCTION");
-  IElementType ERL_EXPORT_FUNCTIONS = new ErlangCompositeElementType("ERL_EXPORT_FUNCTIONS");
+  IElementType ERL_EXPORT = ErlangElementTypeFactory.factory("ERL_EXPORT");
+  IElementType ERL_EXPORT_FUNCTION = ErlangElementTypeFactory.factory("ERL_EXPORT_FUNCTION");
+  IElementType ERL_EXPORT_FUNCTIONS = ErlangElementTypeFactory.factory("ERL_EXPORT_FUNCTIONS");
   IElementType ERL_EXPORT_TYPE = new ErlangCompositeElementType("ERL_EXPORT_TYPE");
   IElementType ERL_EXPORT_TYPES = new ErlangCompositeElementType("ERL_EXPORT_TYPES");
   IElementType ERL_EXPORT_TYPE_ATTRIBUTE = new ErlangCompositeElementType("ERL_EXPORT_TYPE_ATTRIBUTE");
   IElementType ERL_EXPRESSION = new ErlangCompositeElementType("ERL_EXPRESSION");
   IElementType ERL_FIELD_TYPE = new ErlangCompositeElementType("ERL_FIELD_TYPE");
-  IElementType ERL_FUNCTION = new ErlangCompositeElementType("ERL_FUNCTION");
+  IElementType ERL_FUNCTION = ErlangElementTypeFactory.factory("ERL_FUNCTION");
   IElementType ERL_FUNCTION_CALL_EXPRESSION = new ErlangCompositeElementType("ERL_FUNCTION_CALL_EXPRESSION");
-  IElementType ERL_FUNCTION_CLAUSE = new ErlangCompositeElementType("ERL_FUNCTION_CLAUSE");
+  IElementType ERL_FUNCTION_CLAUSE = ErlangReparseableElementType.factory("ERL_FUNCTION_CLAUSE");
   IElementType ERL_FUNCTION_WITH_ARITY = new ErlangCompositeElementType("ERL_FUNCTION_WITH_ARITY");
   IElementType ERL_FUNCTION_WITH_ARITY_VARIABLES = new ErlangCompositeElementType("ERL_FUNCTION_WITH_ARITY_VARIABLES");
   IElementType ERL_FUN_CLAUSE = new ErlangCompositeElementType("ERL_FUN_CLAUSE");
@@ -67,7 +69,7 @@ public interface ErlangTypes {
   IElementType ERL_IF_CLAUSE = new ErlangCompositeElementType("ERL_IF_CLAUSE");
   IElementType ERL_IF_CLAUSES = new ErlangCompositeElementType("ERL_IF_CLAUSES");
   IElementType ERL_IF_EXPRESSION = new ErlangCompositeElementType("ERL_IF_EXPRESSION");
-  IElementType ERL_INCLUDE = new ErlangCompositeElementType("ERL_INCLUDE");
+  IElementType ERL_INCLUDE = ErlangElementTypeFactory.factory("ERL_INCLUDE");
   IElementType ERL_INCLUDE_STRING = new ErlangCompositeElementType("ERL_INCLUDE_STRING");
   IElementType ERL_INT_TYPE = new ErlangCompositeElementType("ERL_INT_TYPE");
   IElementType ERL_LC_EXPRESSION = new ErlangCompositeElementType("ERL_LC_EXPRESSION");
@@ -78,10 +80,10 @@ public interface ErlangTypes {
   IElementType ERL_MACROS = new ErlangCompositeElementType("ERL_MACROS");
   IElementType ERL_MACROS_ARG = new ErlangCompositeElementType("ERL_MACROS_ARG");
   IElementType ERL_MACROS_BODY = new ErlangCompositeElementType("ERL_MACROS_BODY");
-  IElementType ERL_MACROS_DEFINITION = new ErlangCompositeElementType("ERL_MACROS_DEFINITION");
+  IElementType ERL_MACROS_DEFINITION = ErlangElementTypeFactory.factory("ERL_MACROS_DEFINITION");
   IElementType ERL_MACROS_NAME = new ErlangCompositeElementType("ERL_MACROS_NAME");
   IElementType ERL_MAX_EXPRESSION = new ErlangCompositeElementType("ERL_MAX_EXPRESSION");
-  IElementType ERL_MODULE = new ErlangCompositeElementType("ERL_MODULE");
+  IElementType ERL_MODULE = ErlangElementTypeFactory.factory("ERL_MODULE");
   IElementType ERL_MODULE_REF = new ErlangCompositeElementType("ERL_MODULE_REF");
   IElementType ERL_MULTIPLICATIVE_EXPRESSION = new ErlangCompositeElementType("ERL_MULTIPLICATIVE_EXPRESSION");
   IElementType ERL_OPT_BIT_TYPE_LIST = new ErlangCompositeElementType("ERL_OPT_BIT_TYPE_LIST");
@@ -93,7 +95,7 @@ public interface ErlangTypes {
   IElementType ERL_Q_ATOM = new ErlangCompositeElementType("ERL_Q_ATOM");
   IElementType ERL_Q_VAR = new ErlangCompositeElementType("ERL_Q_VAR");
   IElementType ERL_RECEIVE_EXPRESSION = new ErlangCompositeElementType("ERL_RECEIVE_EXPRESSION");
-  IElementType ERL_RECORD_DEFINITION = new ErlangCompositeElementType("ERL_RECORD_DEFINITION");
+  IElementType ERL_RECORD_DEFINITION = ErlangElementTypeFactory.factory("ERL_RECORD_DEFINITION");
   IElementType ERL_RECORD_EXPRESSION = new ErlangCompositeElementType("ERL_RECORD_EXPRESSION");
   IElementType ERL_RECORD_FIELD = new ErlangCompositeElementType("ERL_RECORD_FIELD");
   IElementType ERL_RECORD_FIELDS = new ErlangCompositeElementType("ERL_RECORD_FIELDS");
@@ -118,7 +120,7 @@ public interface ErlangTypes {
   IElementType ERL_TYPED_ATTR_VAL = new ErlangCompositeElementType("ERL_TYPED_ATTR_VAL");
   IElementType ERL_TYPED_EXPR = new ErlangCompositeElementType("ERL_TYPED_EXPR");
   IElementType ERL_TYPED_RECORD_FIELDS = new ErlangCompositeElementType("ERL_TYPED_RECORD_FIELDS");
-  IElementType ERL_TYPE_DEFINITION = new ErlangCompositeElementType("ERL_TYPE_DEFINITION");
+  IElementType ERL_TYPE_DEFINITION = ErlangElementTypeFactory.factory("ERL_TYPE_DEFINITION");
   IElementType ERL_TYPE_GUARD = new ErlangCompositeElementType("ERL_TYPE_GUARD");
   IElementType ERL_TYPE_REF = new ErlangCompositeElementType("ERL_TYPE_REF");
   IElementType ERL_TYPE_SIG = new ErlangCompositeElementType("ERL_TYPE_SIG");
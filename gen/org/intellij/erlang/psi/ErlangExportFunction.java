@@ -4,9 +4,11 @@ package org.intellij.erlang.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import org.intellij.erlang.stubs.ErlangExportFunctionStub;
 import com.intellij.psi.PsiReference;
 
-public interface ErlangExportFunction extends ErlangCompositeElement {
+public interface ErlangExportFunction extends ErlangCompositeElement, StubBasedPsiElement<ErlangExportFunctionStub> {
 
   @NotNull
   ErlangQAtom getQAtom();
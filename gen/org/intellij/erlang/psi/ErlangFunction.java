@@ -4,10 +4,13 @@ package org.intellij.erlang.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import org.intellij.erlang.stubs.ErlangFunctionStub;
 import com.intellij.navigation.ItemPresentation;
 import javax.swing.Icon;
+import com.intellij.psi.search.SearchScope;
 
-public interface ErlangFunction extends ErlangNamedElement {
+public interface ErlangFunction extends ErlangNamedElement, StubBasedPsiElement<ErlangFunctionStub> {
 
   @NotNull
   List<ErlangFunctionClause> getFunctionClauseList();
@@ -32,4 +35,7 @@ public interface ErlangFunction extends ErlangNamedElement {
   @NotNull
   Icon getIcon(int flags);
 
+  @NotNull
+  SearchScope getUseScope();
+
 }
@@ -4,10 +4,12 @@ package org.intellij.erlang.psi;
 import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.StubBasedPsiElement;
+import org.intellij.erlang.stubs.ErlangModuleStub;
 import com.intellij.psi.scope.PsiScopeProcessor;
 import com.intellij.psi.ResolveState;
 
-public interface ErlangModule extends ErlangNamedElement {
+public interface ErlangModule extends ErlangNamedElement, StubBasedPsiElement<ErlangModuleStub> {
 
   @Nullable
   ErlangArgumentDefinition getArgumentDefinition();
@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangAttributeStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangAttributeImpl extends ErlangCompositeElementImpl implements ErlangAttribute {
+public class ErlangAttributeImpl extends ErlangStubbedPsiElementBase<ErlangAttributeStub> implements ErlangAttribute {
 
   public ErlangAttributeImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangAttributeImpl(ErlangAttributeStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangAtomAttribute getAtomAttribute() {
@@ -25,7 +31,7 @@ public class ErlangAttributeImpl extends ErlangCompositeElementImpl implements E
   @Override
   @Nullable
   public ErlangBehaviour getBehaviour() {
-    return findChildByClass(ErlangBehaviour.class);
+    return PsiTreeUtil.getStubChildOfType(this, ErlangBehaviour.class);
   }
 
   @Override
@@ -37,7 +43,7 @@ public class ErlangAttributeImpl extends ErlangCompositeElementImpl implements E
   @Override
   @Nullable
   public ErlangExport getExport() {
-    return findChildByClass(ErlangExport.class);
+    return PsiTreeUtil.getStubChildOfType(this, ErlangExport.class);
   }
 
   @Override
@@ -49,7 +55,7 @@ public class ErlangAttributeImpl extends ErlangCompositeElementImpl implements E
   @Override
   @Nullable
   public ErlangModule getModule() {
-    return findChildByClass(ErlangModule.class);
+    return PsiTreeUtil.getStubChildOfType(this, ErlangModule.class);
   }
 
   @Override
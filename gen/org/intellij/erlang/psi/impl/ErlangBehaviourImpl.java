@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangBehaviourStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangBehaviourImpl extends ErlangCompositeElementImpl implements ErlangBehaviour {
+public class ErlangBehaviourImpl extends ErlangStubbedPsiElementBase<ErlangBehaviourStub> implements ErlangBehaviour {
 
   public ErlangBehaviourImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangBehaviourImpl(ErlangBehaviourStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangModuleRef getModuleRef() {
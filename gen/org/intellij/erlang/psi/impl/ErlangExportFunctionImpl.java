@@ -5,18 +5,24 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangExportFunctionStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 import com.intellij.psi.PsiReference;
 
-public class ErlangExportFunctionImpl extends ErlangCompositeElementImpl implements ErlangExportFunction {
+public class ErlangExportFunctionImpl extends ErlangStubbedPsiElementBase<ErlangExportFunctionStub> implements ErlangExportFunction {
 
   public ErlangExportFunctionImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangExportFunctionImpl(ErlangExportFunctionStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @NotNull
   public ErlangQAtom getQAtom() {
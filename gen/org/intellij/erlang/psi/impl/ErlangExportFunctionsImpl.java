@@ -5,21 +5,27 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangExportFunctionsStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangExportFunctionsImpl extends ErlangCompositeElementImpl implements ErlangExportFunctions {
+public class ErlangExportFunctionsImpl extends ErlangStubbedPsiElementBase<ErlangExportFunctionsStub> implements ErlangExportFunctions {
 
   public ErlangExportFunctionsImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangExportFunctionsImpl(ErlangExportFunctionsStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @NotNull
   public List<ErlangExportFunction> getExportFunctionList() {
-    return PsiTreeUtil.getChildrenOfTypeAsList(this, ErlangExportFunction.class);
+    return PsiTreeUtil.getStubChildrenOfTypeAsList(this, ErlangExportFunction.class);
   }
 
   public void accept(@NotNull PsiElementVisitor visitor) {
@@ -5,21 +5,27 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangExportStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangExportImpl extends ErlangCompositeElementImpl implements ErlangExport {
+public class ErlangExportImpl extends ErlangStubbedPsiElementBase<ErlangExportStub> implements ErlangExport {
 
   public ErlangExportImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangExportImpl(ErlangExportStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangExportFunctions getExportFunctions() {
-    return findChildByClass(ErlangExportFunctions.class);
+    return PsiTreeUtil.getStubChildOfType(this, ErlangExportFunctions.class);
   }
 
   public void accept(@NotNull PsiElementVisitor visitor) {
@@ -5,19 +5,26 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangFunctionStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 import com.intellij.navigation.ItemPresentation;
 import javax.swing.Icon;
+import com.intellij.psi.search.SearchScope;
 
-public class ErlangFunctionImpl extends ErlangNamedElementImpl implements ErlangFunction {
+public class ErlangFunctionImpl extends ErlangNamedStubbedPsiElementBase<ErlangFunctionStub> implements ErlangFunction {
 
   public ErlangFunctionImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangFunctionImpl(ErlangFunctionStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @NotNull
   public List<ErlangFunctionClause> getFunctionClauseList() {
@@ -66,4 +73,9 @@ public class ErlangFunctionImpl extends ErlangNamedElementImpl implements Erlang
     return ErlangPsiImplUtil.getIcon(this, flags);
   }
 
+  @NotNull
+  public SearchScope getUseScope() {
+    return ErlangPsiImplUtil.getUseScope(this);
+  }
+
 }
@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangIncludeStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangIncludeImpl extends ErlangCompositeElementImpl implements ErlangInclude {
+public class ErlangIncludeImpl extends ErlangStubbedPsiElementBase<ErlangIncludeStub> implements ErlangInclude {
 
   public ErlangIncludeImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangIncludeImpl(ErlangIncludeStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangIncludeString getIncludeString() {
@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangMacrosDefinitionStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangMacrosDefinitionImpl extends ErlangNamedElementImpl implements ErlangMacrosDefinition {
+public class ErlangMacrosDefinitionImpl extends ErlangNamedStubbedPsiElementBase<ErlangMacrosDefinitionStub> implements ErlangMacrosDefinition {
 
   public ErlangMacrosDefinitionImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangMacrosDefinitionImpl(ErlangMacrosDefinitionStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangArgumentDefinitionList getArgumentDefinitionList() {
@@ -5,6 +5,8 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangModuleStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
@@ -12,12 +14,16 @@ import org.intellij.erlang.psi.*;
 import com.intellij.psi.scope.PsiScopeProcessor;
 import com.intellij.psi.ResolveState;
 
-public class ErlangModuleImpl extends ErlangNamedElementImpl implements ErlangModule {
+public class ErlangModuleImpl extends ErlangNamedStubbedPsiElementBase<ErlangModuleStub> implements ErlangModule {
 
   public ErlangModuleImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangModuleImpl(ErlangModuleStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangArgumentDefinition getArgumentDefinition() {
@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangRecordDefinitionStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangRecordDefinitionImpl extends ErlangNamedElementImpl implements ErlangRecordDefinition {
+public class ErlangRecordDefinitionImpl extends ErlangNamedStubbedPsiElementBase<ErlangRecordDefinitionStub> implements ErlangRecordDefinition {
 
   public ErlangRecordDefinitionImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangRecordDefinitionImpl(ErlangRecordDefinitionStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangQAtom getQAtom() {
@@ -5,17 +5,23 @@ import java.util.List;
 import org.jetbrains.annotations.*;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.stubs.IStubElementType;
+import org.intellij.erlang.stubs.ErlangTypeDefinitionStub;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.util.PsiTreeUtil;
 import static org.intellij.erlang.ErlangTypes.*;
 import org.intellij.erlang.psi.*;
 
-public class ErlangTypeDefinitionImpl extends ErlangNamedElementImpl implements ErlangTypeDefinition {
+public class ErlangTypeDefinitionImpl extends ErlangNamedStubbedPsiElementBase<ErlangTypeDefinitionStub> implements ErlangTypeDefinition {
 
   public ErlangTypeDefinitionImpl(ASTNode node) {
     super(node);
   }
 
+  public ErlangTypeDefinitionImpl(ErlangTypeDefinitionStub stub, IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
   @Override
   @Nullable
   public ErlangArgumentDefinitionList getArgumentDefinitionList() {
@@ -21,23 +21,18 @@ import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.lang.ASTNode;
 import com.intellij.openapi.actionSystem.IdeActions;
-import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.openapi.util.io.FileUtil;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiFileFactory;
 import com.intellij.psi.impl.source.tree.TreeUtil;
-import com.intellij.psi.search.FilenameIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.Function;
 import com.intellij.util.ProcessingContext;
 import com.intellij.util.containers.ContainerUtil;
+import org.intellij.erlang.index.ErlangModuleNameCache;
 import org.intellij.erlang.parser.ErlangLexer;
 import org.intellij.erlang.parser.ErlangParserUtil;
 import org.intellij.erlang.parser.GeneratedParserUtilBase;
@@ -160,38 +155,25 @@ public class ErlangCompletionContributor extends CompletionContributor {
   }
 
   private static void suggestModules(CompletionResultSet result, PsiElement position) {
-    Project project = position.getProject();
-    Collection<VirtualFile> files = FilenameIndex.getAllFilesByExt(project, "erl", GlobalSearchScope.projectScope(project));
-
-    List<VirtualFile> standardModules = ContainerUtil.filter(FilenameIndex.getAllFilesByExt(project, "erl", GlobalSearchScope.allScope(project)),
-      new Condition<VirtualFile>() {
-        @Override
-        public boolean value(VirtualFile virtualFile) {
-          String canonicalPath = virtualFile.getCanonicalPath();
-          canonicalPath = FileUtil.toSystemIndependentName(canonicalPath != null ? canonicalPath : "");
-          String kernelRegExp = ".*/lib/kernel[\\-\\d\\.]+/src/.*\\.erl";
-          String stdlibRegExp = ".*/lib/stdlib[\\-\\d\\.]+/src/.*\\.erl";
-          return canonicalPath.matches(kernelRegExp) || canonicalPath.matches(stdlibRegExp);
-        }
-      });// todo: module with libs scope
-
-    //noinspection unchecked
-    for (VirtualFile file : ContainerUtil.concat(files, standardModules)) {
-      if (file.getFileType() == ErlangFileType.MODULE) {
-        result.addElement(
-          PrioritizedLookupElement.withPriority(
-            LookupElementBuilder.create(file.getNameWithoutExtension())
-              .withIcon(ErlangIcons.MODULE)
-              .withInsertHandler(new SingleCharInsertHandler(':')),
-            MODULE_PRIORITY));
-      }
+    String prefix = result.getPrefixMatcher().getPrefix();
+    for (String moduleName : ErlangModuleNameCache.getInstance(position.getProject()).getModuleNames(prefix)) {
+      result.addElement(
+        PrioritizedLookupElement.withPriority(
+          LookupElementBuilder.create(moduleName)
+            .withIcon(ErlangIcons.MODULE)
+            .withInsertHandler(new SingleCharInsertHandler(':')),
+          MODULE_PRIORITY));
     }
   }
 
+  /**
+   * Re-parses with a completion state only the text of the enclosing top-level form up to the caret,
+   * forms are separated by top-level dots and parsed independently, so the earlier ones do not affect the variants.
+   */
   private static Collection<String> suggestKeywords(PsiElement position) {
     TextRange posRange = position.getTextRange();
     ErlangFile posFile = (ErlangFile) position.getContainingFile();
-    final TextRange range = new TextRange(0, posRange.getStartOffset());
+    final TextRange range = new TextRange(getFormStartOffset(position), posRange.getStartOffset());
     final String text = range.isEmpty() ? CompletionInitializationContext.DUMMY_IDENTIFIER : range.substring(posFile.getText());
 
     PsiFile file = PsiFileFactory.getInstance(posFile.getProject()).createFileFromText("a.erl", ErlangLanguage.INSTANCE, text, true, false);
@@ -207,4 +189,15 @@ public class ErlangCompletionContributor extends CompletionContributor {
     TreeUtil.ensureParsed(file.getNode());
     return state.items;
   }
+
+  private static int getFormStartOffset(@NotNull PsiElement position) {
+    PsiElement topLevel = position;
+    while (topLevel.getParent() != null && !(topLevel.getParent() instanceof PsiFile)) {
+      topLevel = topLevel.getParent();
+    }
+    for (PsiElement e = topLevel.getPrevSibling(); e != null; e = e.getPrevSibling()) {
+      if (e.getNode().getElementType() == ErlangTypes.ERL_DOT) return e.getTextRange().getEndOffset();
+    }
+    return 0;
+  }
 }
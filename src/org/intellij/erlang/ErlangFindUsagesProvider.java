@@ -32,9 +32,7 @@ import org.jetbrains.annotations.NotNull;
 public class ErlangFindUsagesProvider implements FindUsagesProvider {
   @Override
   public WordsScanner getWordsScanner() {
-    return null;
-    // todo
-    //new DefaultWordsScanner(new ErlangLexer(), TokenSet.create(ErlangTypes.ERL_ATOM, ErlangTypes.ERL_VAR), ErlangParserDefinition.COMMENTS, TokenSet.create(ErlangTypes.ERL_STRING));
+    return new ErlangWordsScanner();
   }
 
   @Override
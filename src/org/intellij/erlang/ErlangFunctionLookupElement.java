@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang;
+
+import com.intellij.codeInsight.completion.InsertHandler;
+import com.intellij.codeInsight.completion.InsertionContext;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupElementPresentation;
+import org.intellij.erlang.index.ErlangFunctionInfo;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Lookup element for a remote function backed only by its index entry.
+ * Presentation is built in {@link #renderElement}, so the spec is only split for the items the lookup actually shows.
+ *
+ * @author ignatov
+ */
+public class ErlangFunctionLookupElement extends LookupElement {
+  @NotNull private final ErlangFunctionInfo myInfo;
+  @Nullable private final InsertHandler<LookupElement> myInsertHandler;
+
+  public ErlangFunctionLookupElement(@NotNull ErlangFunctionInfo info, @Nullable InsertHandler<LookupElement> insertHandler) {
+    myInfo = info;
+    myInsertHandler = insertHandler;
+  }
+
+  @NotNull
+  @Override
+  public Object getObject() {
+    return myInfo;
+  }
+
+  @NotNull
+  @Override
+  public String getLookupString() {
+    return myInfo.getName();
+  }
+
+  @Override
+  public void handleInsert(InsertionContext context) {
+    if (myInsertHandler != null) {
+      myInsertHandler.handleInsert(context, this);
+    }
+  }
+
+  @Override
+  public void renderElement(LookupElementPresentation presentation) {
+    presentation.setItemText(myInfo.getName());
+    presentation.setIcon(ErlangIcons.FUNCTION);
+    presentation.setTailText("/" + myInfo.getArity());
+
+    String spec = myInfo.getSpec();
+    if (spec == null) return;
+    int sigEnd = spec.indexOf("; ");
+    String firstSig = sigEnd == -1 ? spec : spec.substring(0, sigEnd);
+    int arrow = firstSig.indexOf("->");
+    if (arrow == -1) return;
+    presentation.appendTailText(" " + firstSig.substring(0, arrow).trim(), true);
+    String result = firstSig.substring(arrow + 2);
+    int guard = result.indexOf(" when ");
+    presentation.setTypeText((guard == -1 ? result : result.substring(0, guard)).trim());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    return myInfo.equals(((ErlangFunctionLookupElement) o).myInfo);
+  }
+
+  @Override
+  public int hashCode() {
+    return myInfo.hashCode();
+  }
+}
@@ -32,13 +32,13 @@ import org.intellij.erlang.parser.ErlangLexer;
 import org.intellij.erlang.parser.ErlangParser;
 import org.intellij.erlang.psi.ErlangTokenType;
 import org.intellij.erlang.psi.impl.ErlangFileImpl;
+import org.intellij.erlang.stubs.ErlangFileElementType;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * @author ignatov
  */
 public class ErlangParserDefinition implements ParserDefinition {
-  public static final IFileElementType ERL_FILE_ELEMENT_TYPE = new IFileElementType("ERL_FILE", ErlangLanguage.INSTANCE);
   public static final TokenSet WS = TokenSet.create(TokenType.WHITE_SPACE);
   public static final IElementType ERL_COMMENT = new ErlangTokenType("ERL_LINE_COMMENT");
   public static final IElementType ERL_FUNCTION_DOC_COMMENT = new ErlangTokenType("function_doc_comment");
@@ -59,7 +59,7 @@ public class ErlangParserDefinition implements ParserDefinition {
 
   @Override
   public IFileElementType getFileNodeType() {
-    return ERL_FILE_ELEMENT_TYPE;
+    return ErlangFileElementType.INSTANCE;
   }
 
   @NotNull
@@ -8,12 +8,14 @@ import com.intellij.openapi.editor.markup.GutterIconRenderer;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiReference;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.FunctionUtil;
 import com.intellij.util.containers.HashSet;
+import org.intellij.erlang.index.ErlangCallIndex;
+import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangFunction;
 import org.intellij.erlang.psi.ErlangFunctionCallExpression;
-import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
@@ -35,20 +37,20 @@ public class ErlangRecursiveCallLineMarkerProvider implements LineMarkerProvider
     Set<Integer> lines = new HashSet<Integer>();
     for (PsiElement element : elements) {
       if (element instanceof ErlangFunctionCallExpression) {
-        PsiReference reference = element.getReference();
-        PsiElement resolve = reference != null ? reference.resolve() : null;
-        if (resolve instanceof ErlangFunction) {
-          if (ErlangPsiImplUtil.isRecursiveCall(element, (ErlangFunction) resolve)) {
-            PsiDocumentManager instance = PsiDocumentManager.getInstance(element.getProject());
-            Document document = instance.getDocument(element.getContainingFile());
-            int textOffset = element.getTextOffset();
-            if (document == null) continue;
-            int lineNumber = document.getLineNumber(textOffset);
-            if (!lines.contains(lineNumber)) {
-              result.add(new RecursiveMethodCallMarkerInfo(element));
-            }
-            lines.add(lineNumber);
+        ErlangFunction function = PsiTreeUtil.getParentOfType(element, ErlangFunction.class);
+        PsiFile file = element.getContainingFile();
+        if (function == null || !(file instanceof ErlangFile)) continue;
+        String calleeKey = ErlangCallIndex.getCalleeKey((ErlangFunctionCallExpression) element, ErlangCallIndex.getModuleName((ErlangFile) file));
+        if (ErlangCallIndex.getFunctionKey(function).equals(calleeKey)) {
+          PsiDocumentManager instance = PsiDocumentManager.getInstance(element.getProject());
+          Document document = instance.getDocument(file);
+          int textOffset = element.getTextOffset();
+          if (document == null) continue;
+          int lineNumber = document.getLineNumber(textOffset);
+          if (!lines.contains(lineNumber)) {
+            result.add(new RecursiveMethodCallMarkerInfo(element));
           }
+          lines.add(lineNumber);
         }
       }
     }
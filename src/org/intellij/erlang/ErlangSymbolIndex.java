@@ -20,31 +20,41 @@ import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.PsiElementProcessor;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
 import com.intellij.util.io.EnumeratorStringDescriptor;
 import com.intellij.util.io.KeyDescriptor;
 import gnu.trove.THashMap;
-import gnu.trove.THashSet;
-import org.intellij.erlang.psi.ErlangNamedElement;
+import gnu.trove.TIntArrayList;
+import org.intellij.erlang.go.ErlangSymbolNavigationItem;
+import org.intellij.erlang.index.ErlangIndexUtil;
+import org.intellij.erlang.psi.*;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
 
 /**
+ * Maps top-level symbol names to <code>(kind, arity, offset)</code> triples, so navigation items
+ * can be created without loading PSI of candidate files.
+ *
  * @author ignatov
  */
-public class ErlangSymbolIndex extends ScalarIndexExtension<String> {
-  public static final ID<String, Void> ERLANG_SYMBOL_INDEX = ID.create("ErlangSymbolIndex");
-  private static final int INDEX_VERSION = 0;
-  private DataIndexer<String, Void, FileContent> myDataIndexer = new MyDataIndexer();
+public class ErlangSymbolIndex extends FileBasedIndexExtension<String, int[]> {
+  public static final ID<String, int[]> ERLANG_SYMBOL_INDEX = ID.create("ErlangSymbolIndex");
+  private static final int INDEX_VERSION = 1;
+
+  public static final int FUNCTION = 0;
+  public static final int RECORD = 1;
+  public static final int MACROS = 2;
+  public static final int TYPE = 3;
+
+  private DataIndexer<String, int[], FileContent> myDataIndexer = new MyDataIndexer();
 
   @NotNull
   @Override
-  public ID<String, Void> getName() {
+  public ID<String, int[]> getName() {
     return ERLANG_SYMBOL_INDEX;
   }
 
@@ -55,7 +65,7 @@ public class ErlangSymbolIndex extends ScalarIndexExtension<String> {
 
   @NotNull
   @Override
-  public DataIndexer<String, Void, FileContent> getIndexer() {
+  public DataIndexer<String, int[], FileContent> getIndexer() {
     return myDataIndexer;
   }
 
@@ -64,6 +74,11 @@ public class ErlangSymbolIndex extends ScalarIndexExtension<String> {
     return new EnumeratorStringDescriptor();
   }
 
+  @Override
+  public DataExternalizer<int[]> getValueExternalizer() {
+    return ErlangIndexUtil.INT_ARRAY_EXTERNALIZER;
+  }
+
   @Override
   public FileBasedIndex.InputFilter getInputFilter() {
     return ERLANG_INPUT_FILTER;
@@ -89,59 +104,51 @@ public class ErlangSymbolIndex extends ScalarIndexExtension<String> {
     return FileBasedIndex.getInstance().getAllKeys(ERLANG_SYMBOL_INDEX, project);
   }
 
-  public static List<ErlangNamedElement> getItemsByName(final String name, Project project, GlobalSearchScope searchScope) {
-    final Collection<VirtualFile> files =
-      FileBasedIndex.getInstance().getContainingFiles(ERLANG_SYMBOL_INDEX, name, searchScope);
-    final Set<ErlangNamedElement> result = new THashSet<ErlangNamedElement>();
-    for (VirtualFile vFile : files) {
-      final PsiFile psiFile = PsiManager.getInstance(project).findFile(vFile);
-      if (psiFile == null || !isErlangFileType(psiFile.getFileType())) {
-        continue;
-      }
-      processComponents(psiFile, new PsiElementProcessor<ErlangNamedElement>() {
-        @Override
-        public boolean execute(@NotNull ErlangNamedElement component) {
-          if (name.equals(component.getName())) {
-            result.add(component);
-          }
-          return true;
+  public static List<ErlangSymbolNavigationItem> getItemsByName(final String name, final Project project, GlobalSearchScope searchScope) {
+    final List<ErlangSymbolNavigationItem> result = new ArrayList<ErlangSymbolNavigationItem>();
+    FileBasedIndex.getInstance().processValues(ERLANG_SYMBOL_INDEX, name, null, new FileBasedIndex.ValueProcessor<int[]>() {
+      @Override
+      public boolean process(VirtualFile file, int[] value) {
+        for (int i = 0; i + 2 < value.length; i += 3) {
+          result.add(new ErlangSymbolNavigationItem(project, file, name, value[i], value[i + 1], value[i + 2]));
         }
-      });
-    }
-    return new ArrayList<ErlangNamedElement>(result);
+        return true;
+      }
+    }, searchScope);
+    return result;
   }
 
-  private static class MyDataIndexer implements DataIndexer<String, Void, FileContent> {
+  private static class MyDataIndexer implements DataIndexer<String, int[], FileContent> {
     @Override
     @NotNull
-    public Map<String, Void> map(final FileContent inputData) {
-      final PsiFile psiFile = inputData.getPsiFile();
-      final Map<String, Void> result = new THashMap<String, Void>();
-      processComponents(psiFile, new PsiElementProcessor<ErlangNamedElement>() {
-        @Override
-        public boolean execute(@NotNull ErlangNamedElement component) {
-          if (component.getName() != null) {
-            result.put(component.getName(), null);
-          }
-          return true;
-        }
-      });
+    public Map<String, int[]> map(final FileContent inputData) {
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof ErlangFile)) return Collections.emptyMap();
+      ErlangFile file = (ErlangFile) psiFile;
+      Map<String, TIntArrayList> symbols = new THashMap<String, TIntArrayList>();
+      for (ErlangFunction o : file.getFunctions()) addSymbol(symbols, o, FUNCTION, o.getArity());
+      for (ErlangRecordDefinition o : file.getRecords()) addSymbol(symbols, o, RECORD, 0);
+      for (ErlangMacrosDefinition o : file.getMacroses()) addSymbol(symbols, o, MACROS, 0);
+      for (ErlangTypeDefinition o : file.getTypes()) addSymbol(symbols, o, TYPE, ErlangPsiImplUtil.calculateTypeArity(o));
+
+      Map<String, int[]> result = new THashMap<String, int[]>(symbols.size());
+      for (Map.Entry<String, TIntArrayList> entry : symbols.entrySet()) {
+        result.put(entry.getKey(), entry.getValue().toNativeArray());
+      }
       return result;
     }
-  }
 
-  private static void processComponents(PsiFile psiFile, PsiElementProcessor<ErlangNamedElement> processor) {
-    final ErlangNamedElement[] components = PsiTreeUtil.getChildrenOfType(psiFile, ErlangNamedElement.class);
-    if (components == null) {
-      return;
-    }
-    for (ErlangNamedElement component : components) {
-      final String componentName = component.getName();
-      if (componentName != null) {
-        if (!processor.execute(component)) {
-          return;
-        }
+    private static void addSymbol(@NotNull Map<String, TIntArrayList> symbols, @NotNull ErlangNamedElement element, int kind, int arity) {
+      String name = element.getName();
+      if (name == null) return;
+      TIntArrayList list = symbols.get(name);
+      if (list == null) {
+        list = new TIntArrayList(3);
+        symbols.put(name, list);
       }
+      list.add(kind);
+      list.add(arity);
+      list.add(element.getTextOffset());
     }
   }
-}
\ No newline at end of file
+}
@@ -35,11 +35,11 @@ public class ErlangTestFinder implements TestFinder {
     }
     final Collection<PsiElement> result = new THashSet<PsiElement>();
     Project project = element.getProject();
-    final GlobalSearchScope searchScope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), ErlangFileType.MODULE);
     VirtualFile virtualFile = file.getVirtualFile();
     if (virtualFile == null) return result;
     for (String suffix : SUFFIXES) {
-      Collections.addAll(result, FilenameIndex.getFilesByName(project, virtualFile.getNameWithoutExtension() + suffix + "." + ErlangFileType.MODULE.getDefaultExtension(), searchScope));
+      String testName = virtualFile.getNameWithoutExtension() + suffix + "." + ErlangFileType.MODULE.getDefaultExtension();
+      Collections.addAll(result, findModuleFiles(project, testName, file, ErlangPsiImplUtil.getModuleWithDependentsScope(file)));
     }
     return result;
   }
@@ -53,19 +53,26 @@ public class ErlangTestFinder implements TestFinder {
     }
     final Collection<PsiElement> result = new THashSet<PsiElement>();
     Project project = element.getProject();
-    final GlobalSearchScope searchScope = GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(project), ErlangFileType.MODULE);
     VirtualFile virtualFile = file.getVirtualFile();
     if (virtualFile == null) return result;
     String name = virtualFile.getNameWithoutExtension();
     int length = name.length();
     for (String suffix : SUFFIXES) {
       if (name.endsWith(suffix)) {
-        Collections.addAll(result, FilenameIndex.getFilesByName(project, name.substring(0, length - suffix.length()) + "." + ErlangFileType.MODULE.getDefaultExtension(), searchScope));
+        String sourceName = name.substring(0, length - suffix.length()) + "." + ErlangFileType.MODULE.getDefaultExtension();
+        Collections.addAll(result, findModuleFiles(project, sourceName, file, ErlangPsiImplUtil.getModuleWithDependenciesScope(file)));
       }
     }
     return result;
   }
 
+  @NotNull
+  private static PsiFile[] findModuleFiles(@NotNull Project project, @NotNull String fileName, @NotNull PsiFile context, @NotNull GlobalSearchScope scope) {
+    PsiFile[] files = FilenameIndex.getFilesByName(project, fileName, GlobalSearchScope.getScopeRestrictedByFileTypes(scope, ErlangFileType.MODULE));
+    GlobalSearchScope fallbackScope = files.length == 0 ? ErlangPsiImplUtil.getFallbackScope(context) : null;
+    return fallbackScope != null ? FilenameIndex.getFilesByName(project, fileName, GlobalSearchScope.getScopeRestrictedByFileTypes(fallbackScope, ErlangFileType.MODULE)) : files;
+  }
+
   @Override
   public boolean isTest(@NotNull PsiElement element) {
     PsiFile containingFile = findSourceElement(element);
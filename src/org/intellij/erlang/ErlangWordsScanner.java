@@ -0,0 +1,72 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang;
+
+import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.TokenSet;
+import com.intellij.util.Processor;
+import org.intellij.erlang.parser.ErlangLexer;
+
+import static org.intellij.erlang.ErlangParserDefinition.COMMENTS;
+import static org.intellij.erlang.ErlangParserDefinition.LITERALS;
+
+/**
+ * Atoms (record and macros names included) and variables are code words, quoted atoms are indexed by their content.
+ *
+ * @author ignatov
+ */
+public class ErlangWordsScanner extends DefaultWordsScanner {
+  private static final TokenSet IDENTIFIERS = TokenSet.create(ErlangTypes.ERL_ATOM, ErlangTypes.ERL_VAR);
+  private final Lexer myLexer;
+
+  public ErlangWordsScanner() {
+    this(new ErlangLexer());
+  }
+
+  private ErlangWordsScanner(Lexer lexer) {
+    super(lexer, IDENTIFIERS, COMMENTS, LITERALS);
+    myLexer = lexer;
+  }
+
+  @Override
+  public void processWords(CharSequence fileText, Processor<WordOccurrence> processor) {
+    myLexer.start(fileText);
+    WordOccurrence occurrence = new WordOccurrence(fileText, 0, 0, null);
+    IElementType type;
+    while ((type = myLexer.getTokenType()) != null) {
+      int start = myLexer.getTokenStart();
+      int end = myLexer.getTokenEnd();
+      if (type == ErlangTypes.ERL_ATOM && fileText.charAt(start) == '\'' && end - start >= 2) {
+        if (!stripWords(processor, fileText, start + 1, end - 1, WordOccurrence.Kind.CODE, occurrence, false)) return;
+      }
+      else if (IDENTIFIERS.contains(type)) {
+        occurrence.init(fileText, start, end, WordOccurrence.Kind.CODE);
+        if (!processor.process(occurrence)) return;
+      }
+      else if (COMMENTS.contains(type)) {
+        if (!stripWords(processor, fileText, start, end, WordOccurrence.Kind.COMMENTS, occurrence, false)) return;
+      }
+      else if (LITERALS.contains(type)) {
+        if (!stripWords(processor, fileText, start, end, WordOccurrence.Kind.LITERALS, occurrence, true)) return;
+      }
+      myLexer.advance();
+    }
+  }
+}
@@ -16,17 +16,25 @@
 
 package org.intellij.erlang.bif;
 
+import org.intellij.erlang.sdk.ErlangSdkRelease;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class ErlangBifDescriptor {
   @NotNull private final String myModule;
   @NotNull private final String myName;
   private final int myArity;
+  @Nullable private final ErlangSdkRelease mySince;
 
   public ErlangBifDescriptor(@NotNull String module, @NotNull String name, int arity) {
+    this(module, name, arity, null);
+  }
+
+  public ErlangBifDescriptor(@NotNull String module, @NotNull String name, int arity, @Nullable ErlangSdkRelease since) {
     myModule = module;
     myName = name;
     myArity = arity;
+    mySince = since;
   }
 
   @NotNull
@@ -43,6 +51,18 @@ public final class ErlangBifDescriptor {
     return myArity;
   }
 
+  /**
+   * The release the BIF first appeared in, or null if it predates every known release.
+   */
+  @Nullable
+  public ErlangSdkRelease getSince() {
+    return mySince;
+  }
+
+  public boolean isAvailableIn(@Nullable ErlangSdkRelease release) {
+    return release == null || mySince == null || release.isAtLeast(mySince);
+  }
+
   @Override
   public String toString() {
     return myModule + ":" + myName + "/" + myArity;
@@ -18,6 +18,7 @@ package org.intellij.erlang.bif;
 
 import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.openapi.util.text.StringUtil;
+import org.intellij.erlang.sdk.ErlangSdkRelease;
 
 import java.io.File;
 import java.io.PrintStream;
@@ -34,60 +35,88 @@ public class ErlangBifParsing {
   public static void main(String[] args) throws Exception {
     File file = new File("src/org/intellij/erlang/bif/bif.tab.txt");
     Pattern bif = Pattern.compile("bif (\\w+)\\:(\\w+)/(\\d+)");
-    Pattern newBifIn = Pattern.compile("# New Bifs in (R.+)");
+    Pattern newBifIn = Pattern.compile("# .*New (?:Bifs )?in (R\\w+(?:-\\d+)?)");
+    Pattern obsolete = Pattern.compile("# Obsolete");
 
     String[] strings = StringUtil.splitByLines(FileUtilRt.loadFile(file));
 
-    PrintStream g = new PrintStream(new File("src/org/intellij/erlang/bif/ErlangBifTable.java"));
+    PrintStream g = new PrintStream(new File("src/org/intellij/erlang/bif/ErlangBifData.java"));
 
     try {
       g.append("package org.intellij.erlang.bif;\n" +
         "\n" +
-        "import org.jetbrains.annotations.NotNull;\n" +
-        "import com.intellij.util.containers.MultiMap;\n" +
+        "import org.intellij.erlang.sdk.ErlangSdkRelease;\n" +
         "\n" +
-        "import java.util.Collection;\n" +
-        "import java.util.HashSet;\n" +
+        "import java.util.ArrayList;\n" +
+        "import java.util.List;\n" +
         "\n" +
-        "public final class ErlangBifTable {\n" +
-        "  private static final MultiMap<String, ErlangBifDescriptor> bifMap = new MultiMap<String, ErlangBifDescriptor>() {\n" +
-        "    @Override\n" +
-        "    protected Collection<ErlangBifDescriptor> createCollection() {\n" +
-        "      return new HashSet<ErlangBifDescriptor>();\n" +
-        "    }\n" +
-        "  };\n" +
+        "/**\n" +
+        " * Generated from bif.tab.txt by {@link ErlangBifParsing}, do not edit.\n" +
+        " */\n" +
+        "final class ErlangBifData {\n" +
+        "  static final List<ErlangBifDescriptor> BIFS = new ArrayList<ErlangBifDescriptor>();\n" +
         "\n" +
         "  static {\n");
 
+      ErlangSdkRelease since = null;
       for (String s : strings) {
         Matcher matcher;
         if ((matcher = bif.matcher(s)).find()) {
           String module = matcher.group(1);
           String name = matcher.group(2);
           String arity = matcher.group(3);
-          g.append("    bifMap.putValue(\"").append(module).append("\", new ErlangBifDescriptor(\"").append(module).append("\", \"").append(name).append("\", ").append(arity).append("));\n");
+          g.append("    bif(\"").append(module).append("\", \"").append(name).append("\", ").append(arity);
+          if (since != null) {
+            g.append(", ErlangSdkRelease.").append(since.name());
+          }
+          g.append(");\n");
         }
         else if ((matcher = newBifIn.matcher(s)).find()) {
-          String version = matcher.group(1).replaceAll("\\.", "");
+          String version = normalizeRelease(matcher.group(1));
+          since = findRelease(version);
           g.append("    // Since ").append(version).append("\n");
         }
+        else if (obsolete.matcher(s).find()) {
+          since = null;
+          g.append("    // Obsolete\n");
+        }
       }
       g.append("  }\n" +
         "\n" +
-        "  private ErlangBifTable() {\n" +
+        "  private ErlangBifData() {\n" +
         "  }\n" +
         "\n" +
-        "  @NotNull\n" +
-        "  public static Collection<ErlangBifDescriptor> getModuleBifs(@NotNull String module) {\n" +
-        "    return bifMap.get(module);\n" +
+        "  private static void bif(String module, String name, int arity) {\n" +
+        "    bif(module, name, arity, null);\n" +
         "  }\n" +
         "\n" +
-        "  public static boolean isBif(@NotNull String module, @NotNull String function, int arity) {\n" +
-        "    return bifMap.get(module).contains(new ErlangBifDescriptor(module, function, arity));\n" +
+        "  private static void bif(String module, String name, int arity, ErlangSdkRelease since) {\n" +
+        "    BIFS.add(new ErlangBifDescriptor(module, name, arity, since));\n" +
         "  }\n" +
         "}\n");
     } finally {
       g.close();
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * Brings the release names used in bif.tab (<code>R13B-1</code>, <code>R13B3</code>, <code>R14B04.</code>) to the
+   * {@link ErlangSdkRelease} form (<code>R13B01</code>, <code>R13B03</code>, <code>R14B04</code>).
+   */
+  private static String normalizeRelease(String release) {
+    Matcher matcher = Pattern.compile("(R\\d+[AB])-?(\\d*)").matcher(release);
+    if (!matcher.matches()) return release;
+    String patch = matcher.group(2);
+    return matcher.group(1) + (patch.isEmpty() ? "" : StringUtil.repeat("0", Math.max(0, 2 - patch.length())) + patch);
+  }
+
+  /**
+   * BIFs introduced before the oldest known release are available everywhere, so they get no release.
+   */
+  private static ErlangSdkRelease findRelease(String release) {
+    for (ErlangSdkRelease r : ErlangSdkRelease.values()) {
+      if (r.name().equals(release)) return r;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.documentation;
+
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.ArrayUtil;
+import org.intellij.erlang.psi.ErlangTokenType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * Splits the text of a doc comment into EDoc tags, plain text and line breaks.
+ * <p/>
+ * A tag is a whitespace separated word which is one of the given tags. Plain text, including the leading {@code %}
+ * characters of each line, is reported as the text token type given to the constructor.
+ *
+ * @author ignatov
+ */
+public class ErlangDocCommentLexer extends LexerBase {
+  public static final IElementType ERL_EDOC_TAG = new ErlangTokenType("edoc_tag");
+
+  private final IElementType myTextType;
+  private final String[] myTags;
+  private CharSequence myBuffer;
+  private int myStartOffset;
+  private int myEndOffset;
+  private IElementType myTokenType;
+  private int myTokenStart;
+  private int myTokenEnd;
+
+  public ErlangDocCommentLexer(@NotNull IElementType textType, @NotNull Set<String> tags) {
+    myTextType = textType;
+    myTags = ArrayUtil.toStringArray(tags);
+  }
+
+  @Override
+  public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+    myBuffer = buffer;
+    myStartOffset = startOffset;
+    myEndOffset = endOffset;
+    locateToken(startOffset);
+  }
+
+  @Override
+  public int getState() {
+    return 0;
+  }
+
+  @Override
+  public IElementType getTokenType() {
+    return myTokenType;
+  }
+
+  @Override
+  public int getTokenStart() {
+    return myTokenStart;
+  }
+
+  @Override
+  public int getTokenEnd() {
+    return myTokenEnd;
+  }
+
+  @Override
+  public void advance() {
+    locateToken(myTokenEnd);
+  }
+
+  @NotNull
+  @Override
+  public CharSequence getBufferSequence() {
+    return myBuffer;
+  }
+
+  @Override
+  public int getBufferEnd() {
+    return myEndOffset;
+  }
+
+  private void locateToken(int start) {
+    myTokenStart = start;
+    if (start >= myEndOffset) {
+      myTokenType = null;
+      myTokenEnd = start;
+      return;
+    }
+
+    char c = myBuffer.charAt(start);
+    if (c == '\r' || c == '\n') {
+      myTokenType = TokenType.WHITE_SPACE;
+      myTokenEnd = c == '\r' && start + 1 < myEndOffset && myBuffer.charAt(start + 1) == '\n' ? start + 2 : start + 1;
+      return;
+    }
+
+    int tagEnd = getTagEnd(start);
+    if (tagEnd > 0) {
+      myTokenType = ERL_EDOC_TAG;
+      myTokenEnd = tagEnd;
+      return;
+    }
+
+    int end = start + 1;
+    while (end < myEndOffset && myBuffer.charAt(end) != '\r' && myBuffer.charAt(end) != '\n' && getTagEnd(end) < 0) end++;
+    myTokenType = myTextType;
+    myTokenEnd = end;
+  }
+
+  private int getTagEnd(int start) {
+    if (myBuffer.charAt(start) != '@') return -1;
+    if (start > myStartOffset && !Character.isWhitespace(myBuffer.charAt(start - 1))) return -1;
+    int end = start + 1;
+    while (end < myEndOffset && !Character.isWhitespace(myBuffer.charAt(end))) end++;
+    for (String tag : myTags) {
+      if (regionEquals(start, end, tag)) return end;
+    }
+    return -1;
+  }
+
+  private boolean regionEquals(int start, int end, @NotNull String s) {
+    if (end - start != s.length()) return false;
+    for (int i = 0; i < s.length(); i++) {
+      if (myBuffer.charAt(start + i) != s.charAt(i)) return false;
+    }
+    return true;
+  }
+}
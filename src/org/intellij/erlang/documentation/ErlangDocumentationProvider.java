@@ -25,14 +25,14 @@ import com.intellij.openapi.roots.JavadocOrderRootType;
 import com.intellij.openapi.roots.OrderEntry;
 import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
-import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiComment;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiReference;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.Function;
 import com.intellij.util.containers.ContainerUtil;
 import org.intellij.erlang.ErlangParserDefinition;
 import org.intellij.erlang.bif.ErlangBifTable;
@@ -79,7 +79,7 @@ public class ErlangDocumentationProvider extends AbstractDocumentationProvider i
       if (psiElement instanceof ErlangModuleImpl) {
         final ErlangModuleImpl bifPsiModule = (ErlangModuleImpl) psiElement;
         final String bifModuleName = bifPsiModule.getName();
-        if (ErlangBifTable.isBif(bifModuleName, bifName, bifArity)) {
+        if (ErlangBifTable.getInstance(bifCall).isBif(bifModuleName, bifName, bifArity)) {
           final String inDocRef = "#" + bifName + "-" + bifArity;
           return findUrlForVirtualFile(bifPsiModule.getProject(), getVirtualFile(bifPsiModule), inDocRef);
         }
@@ -162,7 +162,7 @@ public class ErlangDocumentationProvider extends AbstractDocumentationProvider i
       commentText += spec.getText().replaceFirst("spec", "<b>Specification:</b><br/>") + "<br/><br/>";
     }
     if (comment != null && comment.getTokenType() == ErlangParserDefinition.ERL_FUNCTION_DOC_COMMENT && ErlangPsiImplUtil.notFromPreviousFunction(comment, prevFunction)) {
-      commentText += "<b>Comment:</b><br/>" + getCommentText(comment, "%%", EDOC_FUNCTION_TAGS);
+      commentText += "<b>Comment:</b><br/>" + getCommentText(comment, EDOC_FUNCTION_TAGS);
     }
     return commentText;
   }
@@ -172,23 +172,40 @@ public class ErlangDocumentationProvider extends AbstractDocumentationProvider i
     PsiElement parent = erlangModule.getParent();
     PsiComment comment = PsiTreeUtil.getPrevSiblingOfType(parent, PsiComment.class);
     if (comment != null && comment.getTokenType() == ErlangParserDefinition.ERL_MODULE_DOC_COMMENT) {
-      return getCommentText(comment, "%%%", EDOC_MODULE_TAGS);
+      return getCommentText(comment, EDOC_MODULE_TAGS);
     }
     return null;
   }
 
-  private static String getCommentText(PsiComment comment, final String commentStartsWith, final Set<String> contextTags) {
-    String[] lines = StringUtil.splitByLines(comment.getText());
-    return StringUtil.join(ContainerUtil.map(lines, new Function<String, String>() {
-      @Override
-      public String fun(String s) {
-        String replace = StringUtil.replace(s, commentStartsWith, "");
-        for (String tag : contextTags) {
-          replace = replace.replaceAll(tag, "<b>" + tag + "</b>");
+  @NotNull
+  private static String getCommentText(@NotNull PsiComment comment, @NotNull Set<String> contextTags) {
+    String text = comment.getText();
+    ErlangDocCommentLexer lexer = new ErlangDocCommentLexer(comment.getTokenType(), contextTags);
+    StringBuilder sb = new StringBuilder(text.length());
+    boolean lineStart = true;
+    for (lexer.start(text); lexer.getTokenType() != null; lexer.advance()) {
+      IElementType type = lexer.getTokenType();
+      int start = lexer.getTokenStart();
+      int end = lexer.getTokenEnd();
+      if (type == TokenType.WHITE_SPACE) {
+        if (!lineStart) sb.append("<br/>");
+        lineStart = true;
+        continue;
+      }
+      if (type == ErlangDocCommentLexer.ERL_EDOC_TAG) {
+        sb.append("<b>").append(text, start, end).append("</b>");
+      }
+      else {
+        if (lineStart) {
+          while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+          while (start < end && text.charAt(start) == '%') start++;
+          if (start == end) continue;
         }
-        return replace;
+        sb.append(text, start, end);
       }
-    }), "<br/>");
+      lineStart = false;
+    }
+    return sb.toString();
   }
 
   /** <a href="www.erlang.org/doc/apps/edoc/chapter.html#id59379">Overview tags</a> */
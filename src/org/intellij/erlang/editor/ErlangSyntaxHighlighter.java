@@ -25,7 +25,8 @@ import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
 import com.intellij.psi.TokenType;
 import com.intellij.psi.tree.IElementType;
 import org.intellij.erlang.ErlangParserDefinition;
-import org.intellij.erlang.parser.ErlangLexer;
+import org.intellij.erlang.documentation.ErlangDocCommentLexer;
+import org.intellij.erlang.parser.ErlangHighlightingLexer;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
@@ -59,7 +60,7 @@ public class ErlangSyntaxHighlighter extends SyntaxHighlighterBase {
   @NotNull
   @Override
   public Lexer getHighlightingLexer() {
-    return new ErlangLexer();
+    return new ErlangHighlightingLexer();
   }
 
   @NotNull
@@ -71,6 +72,9 @@ public class ErlangSyntaxHighlighter extends SyntaxHighlighterBase {
     if (ErlangParserDefinition.COMMENTS.contains(type)) {
       return pack(COMMENT);
     }
+    if (type == ErlangDocCommentLexer.ERL_EDOC_TAG) {
+      return pack(COMMENT, DOC_COMMENT_TAG);
+    }
     if (type == ERL_STRING || type == ERL_CHAR) {
       return pack(STRING);
     }
@@ -92,6 +96,15 @@ public class ErlangSyntaxHighlighter extends SyntaxHighlighterBase {
     if (type == ERL_VAR) {
       return pack(VARIABLES);
     }
+    if (type == ErlangHighlightingLexer.ERL_ATTRIBUTE_KEYWORD) {
+      return pack(KEYWORD);
+    }
+    if (type == ErlangHighlightingLexer.ERL_MACRO_NAME) {
+      return pack(MACRO);
+    }
+    if (type == ErlangHighlightingLexer.ERL_RECORD_NAME) {
+      return pack(RECORDS);
+    }
     if (
       ERL_AFTER == type ||
         ERL_WHEN == type ||
@@ -21,13 +21,11 @@ import com.intellij.navigation.NavigationItem;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.ArrayUtil;
-import org.intellij.erlang.ErlangStructureViewFactory;
 import org.intellij.erlang.ErlangSymbolIndex;
-import org.intellij.erlang.psi.ErlangNamedElement;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author ignatov
@@ -44,16 +42,7 @@ public class ErlangSymbolContributor implements ChooseByNameContributor {
   @Override
   public NavigationItem[] getItemsByName(String name, String pattern, Project project, boolean includeNonProjectItems) {
     GlobalSearchScope scope = includeNonProjectItems ? GlobalSearchScope.allScope(project) : GlobalSearchScope.projectScope(project);
-    Collection<ErlangNamedElement> result = ErlangSymbolIndex.getItemsByName(name, project, scope);
-    ArrayList<NavigationItem> items = new ArrayList<NavigationItem>(result.size());
-    for (final ErlangNamedElement element : result) {
-      items.add(new ErlangStructureViewFactory.Element(element) {
-        @Override
-        public String getLocationString() {
-          return "(in " + element.getContainingFile().getName() + ")";
-        }
-      });
-    }
+    List<ErlangSymbolNavigationItem> items = ErlangSymbolIndex.getItemsByName(name, project, scope);
     return items.toArray(new NavigationItem[items.size()]);
   }
 }
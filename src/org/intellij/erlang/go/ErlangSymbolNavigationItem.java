@@ -0,0 +1,101 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.go;
+
+import com.intellij.navigation.ItemPresentation;
+import com.intellij.navigation.NavigationItem;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.intellij.erlang.ErlangIcons;
+import org.intellij.erlang.ErlangSymbolIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.swing.*;
+
+/**
+ * Navigation item backed by {@link ErlangSymbolIndex} data, PSI is never loaded until navigation.
+ *
+ * @author ignatov
+ */
+public class ErlangSymbolNavigationItem implements NavigationItem, ItemPresentation {
+  private final Project myProject;
+  private final VirtualFile myFile;
+  private final String myName;
+  private final int myKind;
+  private final int myArity;
+  private final int myOffset;
+
+  public ErlangSymbolNavigationItem(@NotNull Project project, @NotNull VirtualFile file, @NotNull String name, int kind, int arity, int offset) {
+    myProject = project;
+    myFile = file;
+    myName = name;
+    myKind = kind;
+    myArity = arity;
+    myOffset = offset;
+  }
+
+  @NotNull
+  @Override
+  public String getName() {
+    return myName;
+  }
+
+  @Override
+  public ItemPresentation getPresentation() {
+    return this;
+  }
+
+  @Override
+  public String getPresentableText() {
+    return myKind == ErlangSymbolIndex.FUNCTION || myKind == ErlangSymbolIndex.TYPE ? myName + "/" + myArity : myName;
+  }
+
+  @Nullable
+  @Override
+  public String getLocationString() {
+    return "(in " + myFile.getName() + ")";
+  }
+
+  @Nullable
+  @Override
+  public Icon getIcon(boolean unused) {
+    switch (myKind) {
+      case ErlangSymbolIndex.FUNCTION: return ErlangIcons.FUNCTION;
+      case ErlangSymbolIndex.RECORD: return ErlangIcons.RECORD;
+      case ErlangSymbolIndex.MACROS: return ErlangIcons.MACROS;
+      case ErlangSymbolIndex.TYPE: return ErlangIcons.TYPE;
+      default: return null;
+    }
+  }
+
+  @Override
+  public void navigate(boolean requestFocus) {
+    new OpenFileDescriptor(myProject, myFile, myOffset).navigate(requestFocus);
+  }
+
+  @Override
+  public boolean canNavigate() {
+    return myFile.isValid();
+  }
+
+  @Override
+  public boolean canNavigateToSource() {
+    return canNavigate();
+  }
+}
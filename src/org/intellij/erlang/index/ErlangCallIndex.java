@@ -0,0 +1,203 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import gnu.trove.TIntArrayList;
+import org.intellij.erlang.ErlangSymbolIndex;
+import org.intellij.erlang.psi.*;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outgoing call graph edges of a file: callee <code>module:name/arity</code> to <code>(caller offset, call offset)</code> pairs.
+ * Caller offset is the text offset of the enclosing function or -1 for references outside functions, e.g. in export attributes.
+ * Unqualified calls are keyed with the module of the file itself, an empty module name is used for files without one.
+ *
+ * @author ignatov
+ */
+public class ErlangCallIndex extends FileBasedIndexExtension<String, int[]> {
+  public static final ID<String, int[]> ERLANG_CALL_INDEX = ID.create("ErlangCallIndex");
+  private static final int INDEX_VERSION = 1;
+  private final DataIndexer<String, int[], FileContent> myDataIndexer = new DataIndexer<String, int[], FileContent>() {
+    @NotNull
+    @Override
+    public Map<String, int[]> map(FileContent inputData) {
+      PsiFile psiFile = inputData.getPsiFile();
+      return psiFile instanceof ErlangFile ? getCalls((ErlangFile) psiFile) : Collections.<String, int[]>emptyMap();
+    }
+  };
+
+  @NotNull
+  @Override
+  public ID<String, int[]> getName() {
+    return ERLANG_CALL_INDEX;
+  }
+
+  @Override
+  public int getVersion() {
+    return INDEX_VERSION;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, int[], FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<int[]> getValueExternalizer() {
+    return ErlangIndexUtil.INT_ARRAY_EXTERNALIZER;
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return ErlangSymbolIndex.ERLANG_INPUT_FILTER;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  /**
+   * @return files with calls or other references to the function, including the file with the function itself
+   * when it calls or exports the function
+   */
+  @NotNull
+  public static Collection<VirtualFile> getCallerFiles(@NotNull Project project, @NotNull ErlangFunction function, @NotNull GlobalSearchScope searchScope) {
+    return FileBasedIndex.getInstance().getContainingFiles(ERLANG_CALL_INDEX, getFunctionKey(function), searchScope);
+  }
+
+  /**
+   * Collects the same data as the index does, in a single pass over the file.
+   */
+  @NotNull
+  public static Map<String, int[]> getCalls(@NotNull ErlangFile file) {
+    final String moduleName = getModuleName(file);
+    final Map<String, TIntArrayList> calls = new THashMap<String, TIntArrayList>();
+    file.accept(new ErlangRecursiveVisitor() {
+      @Override
+      public void visitFunctionCallExpression(@NotNull ErlangFunctionCallExpression o) {
+        addCall(o, getCalleeKey(o, moduleName));
+        super.visitFunctionCallExpression(o);
+      }
+
+      @Override
+      public void visitFunctionWithArity(@NotNull ErlangFunctionWithArity o) {
+        ErlangModuleRef moduleRef = PsiTreeUtil.getPrevSiblingOfType(o, ErlangModuleRef.class);
+        addCall(o, getKey(moduleRef != null ? moduleRef.getQAtom() : null, o.getQAtom(), ErlangPsiImplUtil.getArity(o.getInteger()), moduleName));
+      }
+
+      @Override
+      public void visitExportFunction(@NotNull ErlangExportFunction o) {
+        addCall(o, getKey(null, o.getQAtom(), ErlangPsiImplUtil.getArity(o.getInteger()), moduleName));
+      }
+
+      private void addCall(@NotNull PsiElement o, @Nullable String key) {
+        if (key == null) return;
+        TIntArrayList list = calls.get(key);
+        if (list == null) {
+          list = new TIntArrayList(2);
+          calls.put(key, list);
+        }
+        ErlangFunction caller = PsiTreeUtil.getParentOfType(o, ErlangFunction.class);
+        list.add(caller != null ? caller.getTextOffset() : -1);
+        list.add(o.getTextOffset());
+      }
+    });
+    Map<String, int[]> result = new THashMap<String, int[]>(calls.size());
+    for (Map.Entry<String, TIntArrayList> entry : calls.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().toNativeArray());
+    }
+    return result;
+  }
+
+  /**
+   * @param calls value of the index for the function key in the function's own file
+   */
+  public static boolean hasNonRecursiveCalls(@Nullable int[] calls, @NotNull ErlangFunction function) {
+    if (calls == null) return false;
+    int functionOffset = function.getTextOffset();
+    for (int i = 0; i < calls.length; i += 2) {
+      if (calls[i] != functionOffset) return true;
+    }
+    return false;
+  }
+
+  @Nullable
+  public static String getCalleeKey(@NotNull ErlangFunctionCallExpression o, @NotNull String moduleName) {
+    PsiElement parent = o.getParent();
+    ErlangQAtom moduleAtom = null;
+    if (parent instanceof ErlangGlobalFunctionCallExpression) {
+      ErlangModuleRef moduleRef = ((ErlangGlobalFunctionCallExpression) parent).getModuleRef();
+      if (moduleRef == null) return null;
+      moduleAtom = moduleRef.getQAtom();
+    }
+    return getKey(moduleAtom, o.getQAtom(), o.getArgumentList().getExpressionList().size(), moduleName);
+  }
+
+  @NotNull
+  public static String getFunctionKey(@NotNull ErlangFunction function) {
+    PsiFile file = function.getContainingFile();
+    String moduleName = file instanceof ErlangFile ? getModuleName((ErlangFile) file) : "";
+    return ErlangFunctionIndex.getKey(moduleName, function.getName(), function.getArity());
+  }
+
+  @NotNull
+  public static String getModuleName(@NotNull ErlangFile file) {
+    ErlangModule module = ErlangPsiImplUtil.getModule(file);
+    return module != null ? StringUtil.unquoteString(module.getName()) : "";
+  }
+
+  @Nullable
+  private static String getKey(@Nullable ErlangQAtom moduleAtom, @NotNull ErlangQAtom nameAtom, int arity, @NotNull String moduleName) {
+    if (nameAtom.getMacros() != null) return null;
+    String module = moduleName;
+    if (moduleAtom != null) {
+      ErlangMacros macros = moduleAtom.getMacros();
+      if (macros == null) {
+        module = StringUtil.unquoteString(moduleAtom.getText());
+      }
+      else if (!"?MODULE".equals(macros.getText())) {
+        return null;
+      }
+    }
+    return ErlangFunctionIndex.getKey(module, StringUtil.unquoteString(nameAtom.getText()), arity);
+  }
+}
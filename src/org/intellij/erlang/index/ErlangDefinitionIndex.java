@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.intellij.erlang.ErlangSymbolIndex;
+import org.intellij.erlang.psi.ErlangFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Base for indexes of definitions which can be shared through header files: records, macros and types.
+ *
+ * @author ignatov
+ */
+public abstract class ErlangDefinitionIndex<V> extends FileBasedIndexExtension<String, V> {
+  private static final int INDEX_VERSION = 0;
+
+  private final DataIndexer<String, V, FileContent> myDataIndexer = new DataIndexer<String, V, FileContent>() {
+    @NotNull
+    @Override
+    public Map<String, V> map(FileContent inputData) {
+      PsiFile psiFile = inputData.getPsiFile();
+      return psiFile instanceof ErlangFile ? index((ErlangFile) psiFile) : Collections.<String, V>emptyMap();
+    }
+  };
+
+  @NotNull
+  protected abstract Map<String, V> index(@NotNull ErlangFile file);
+
+  @Override
+  public int getVersion() {
+    return INDEX_VERSION;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, V, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return ErlangSymbolIndex.ERLANG_INPUT_FILTER;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.index;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangModule;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Maps a module name to the functions it exports, so callers never have to walk the export attributes of a remote file.
+ *
+ * @author ignatov
+ */
+public class ErlangExportIndex extends FileBasedIndexExtension<String, List<ErlangFunctionInfo>> {
+  public static final ID<String, List<ErlangFunctionInfo>> ERLANG_EXPORT_INDEX = ID.create("ErlangExportIndex");
+  private static final int INDEX_VERSION = 0;
+  private final DataIndexer<String, List<ErlangFunctionInfo>, FileContent> myDataIndexer = new MyDataIndexer();
+
+  @NotNull
+  @Override
+  public ID<String, List<ErlangFunctionInfo>> getName() {
+    return ERLANG_EXPORT_INDEX;
+  }
+
+  @Override
+  public int getVersion() {
+    return INDEX_VERSION;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, List<ErlangFunctionInfo>, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<List<ErlangFunctionInfo>> getValueExternalizer() {
+    return ErlangFunctionInfo.LIST_EXTERNALIZER;
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return ErlangFunctionIndex.ERLANG_MODULE_INPUT_FILTER;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  @NotNull
+  public static List<ErlangFunctionInfo> getExportedFunctions(@NotNull String moduleName, @NotNull GlobalSearchScope searchScope) {
+    List<List<ErlangFunctionInfo>> values = FileBasedIndex.getInstance().getValues(ERLANG_EXPORT_INDEX, StringUtil.unquoteString(moduleName), searchScope);
+    if (values.isEmpty()) return Collections.emptyList();
+    if (values.size() == 1) return values.get(0);
+    List<ErlangFunctionInfo> result = new ArrayList<ErlangFunctionInfo>();
+    for (List<ErlangFunctionInfo> value : values) {
+      result.addAll(value);
+    }
+    return result;
+  }
+
+  private static class MyDataIndexer implements DataIndexer<String, List<ErlangFunctionInfo>, FileContent> {
+    @Override
+    @NotNull
+    public Map<String, List<ErlangFunctionInfo>> map(FileContent inputData) {
+      PsiFile psiFile = inputData.getPsiFile();
+      if (!(psiFile instanceof ErlangFile)) return Collections.emptyMap();
+      ErlangModule module = ErlangPsiImplUtil.getModule(psiFile);
+      if (module == null) return Collections.emptyMap();
+
+      List<ErlangFunctionInfo> exported = new ArrayList<ErlangFunctionInfo>();
+      for (ErlangFunctionInfo info : ErlangFunctionIndex.getFunctionInfos((ErlangFile) psiFile).values()) {
+        if (info.isExported()) {
+          exported.add(info);
+        }
+      }
+      return Collections.singletonMap(StringUtil.unquoteString(module.getName()), exported);
+    }
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.psi.*;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Indexes every function of a module under the <code>module:name/arity</code> key.
+ *
+ * @author ignatov
+ */
+public class ErlangFunctionIndex extends FileBasedIndexExtension<String, ErlangFunctionInfo> {
+  public static final ID<String, ErlangFunctionInfo> ERLANG_FUNCTION_INDEX = ID.create("ErlangFunctionIndex");
+  private static final int INDEX_VERSION = 0;
+  private final DataIndexer<String, ErlangFunctionInfo, FileContent> myDataIndexer = new MyDataIndexer();
+
+  @NotNull
+  @Override
+  public ID<String, ErlangFunctionInfo> getName() {
+    return ERLANG_FUNCTION_INDEX;
+  }
+
+  @Override
+  public int getVersion() {
+    return INDEX_VERSION;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, ErlangFunctionInfo, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public DataExternalizer<ErlangFunctionInfo> getValueExternalizer() {
+    return ErlangFunctionInfo.EXTERNALIZER;
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return ERLANG_MODULE_INPUT_FILTER;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return true;
+  }
+
+  public static final FileBasedIndex.InputFilter ERLANG_MODULE_INPUT_FILTER = new FileBasedIndex.InputFilter() {
+    @Override
+    public boolean acceptInput(VirtualFile file) {
+      return file.getFileType() == ErlangFileType.MODULE;
+    }
+  };
+
+  @NotNull
+  public static String getKey(@NotNull String moduleName, @NotNull String functionName, int arity) {
+    return StringUtil.unquoteString(moduleName) + ":" + StringUtil.unquoteString(functionName) + "/" + arity;
+  }
+
+  @NotNull
+  public static List<ErlangFunction> getFunctions(@NotNull Project project, @NotNull String moduleName, @NotNull String functionName, int arity, @NotNull GlobalSearchScope searchScope) {
+    Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(ERLANG_FUNCTION_INDEX, getKey(moduleName, functionName, arity), searchScope);
+    List<ErlangFunction> result = new ArrayList<ErlangFunction>();
+    PsiManager psiManager = PsiManager.getInstance(project);
+    for (VirtualFile vFile : files) {
+      PsiFile file = psiManager.findFile(vFile);
+      if (file instanceof ErlangFile) {
+        ContainerUtil.addIfNotNull(result, ((ErlangFile) file).getFunction(functionName, arity));
+      }
+    }
+    return result;
+  }
+
+  @Nullable
+  public static ErlangFunctionInfo getFunctionInfo(@NotNull String moduleName, @NotNull String functionName, int arity, @NotNull GlobalSearchScope searchScope) {
+    return ContainerUtil.getFirstItem(FileBasedIndex.getInstance().getValues(ERLANG_FUNCTION_INDEX, getKey(moduleName, functionName, arity), searchScope));
+  }
+
+  /**
+   * @return all functions of the module keyed as in the index, empty map for files without a module attribute
+   */
+  @NotNull
+  public static Map<String, ErlangFunctionInfo> getFunctionInfos(@NotNull ErlangFile file) {
+    ErlangModule module = ErlangPsiImplUtil.getModule(file);
+    if (module == null) return Collections.emptyMap();
+
+    String moduleName = module.getName();
+    boolean exportAll = file.isExportedAll();
+    Set<String> exports = ErlangPsiImplUtil.getExportedSignatures(file);
+    Map<String, String> specs = MyDataIndexer.collectSpecs(file);
+    Map<String, ErlangFunctionInfo> result = new THashMap<String, ErlangFunctionInfo>();
+    for (ErlangFunction function : file.getFunctions()) {
+      String name = StringUtil.unquoteString(function.getName());
+      int arity = function.getArity();
+      String key = getKey(moduleName, name, arity);
+      if (result.containsKey(key)) continue;
+      String signature = ErlangPsiImplUtil.getSignature(name, arity);
+      result.put(key, new ErlangFunctionInfo(name, arity, exportAll || exports.contains(signature), function.getTextOffset(), specs.get(signature)));
+    }
+    return result;
+  }
+
+  private static class MyDataIndexer implements DataIndexer<String, ErlangFunctionInfo, FileContent> {
+    @Override
+    @NotNull
+    public Map<String, ErlangFunctionInfo> map(FileContent inputData) {
+      PsiFile psiFile = inputData.getPsiFile();
+      return psiFile instanceof ErlangFile ? getFunctionInfos((ErlangFile) psiFile) : Collections.<String, ErlangFunctionInfo>emptyMap();
+    }
+
+    @NotNull
+    private static Map<String, String> collectSpecs(@NotNull ErlangFile file) {
+      Map<String, String> result = new THashMap<String, String>();
+      for (ErlangSpecification specification : file.getSpecifications()) {
+        ErlangFunTypeSigs signature = specification.getSignature();
+        ErlangQAtom atom = signature != null ? ContainerUtil.iterateAndGetLastItem(signature.getSpecFun().getQAtomList()) : null;
+        ErlangTypeSig firstSig = signature != null ? ContainerUtil.getFirstItem(signature.getTypeSigList()) : null;
+        if (atom == null || firstSig == null) continue;
+        int arity = firstSig.getFunType().getFunTypeArguments().getTopTypeList().size();
+        List<String> sigs = new ArrayList<String>();
+        for (ErlangTypeSig typeSig : signature.getTypeSigList()) {
+          sigs.add(typeSig.getText());
+        }
+        result.put(ErlangPsiImplUtil.getSignature(atom.getText(), arity), StringUtil.join(sigs, "; "));
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Index value describing a single function of a module.
+ *
+ * @author ignatov
+ */
+public class ErlangFunctionInfo {
+  public static final DataExternalizer<ErlangFunctionInfo> EXTERNALIZER = new DataExternalizer<ErlangFunctionInfo>() {
+    @Override
+    public void save(DataOutput out, ErlangFunctionInfo value) throws IOException {
+      IOUtil.writeUTF(out, value.myName);
+      out.writeInt(value.myArity);
+      out.writeBoolean(value.myExported);
+      out.writeInt(value.myOffset);
+      IOUtil.writeUTF(out, value.mySpec == null ? "" : value.mySpec);
+    }
+
+    @Override
+    public ErlangFunctionInfo read(DataInput in) throws IOException {
+      String name = IOUtil.readUTF(in);
+      int arity = in.readInt();
+      boolean exported = in.readBoolean();
+      int offset = in.readInt();
+      String spec = IOUtil.readUTF(in);
+      return new ErlangFunctionInfo(name, arity, exported, offset, spec.isEmpty() ? null : spec);
+    }
+  };
+
+  public static final DataExternalizer<List<ErlangFunctionInfo>> LIST_EXTERNALIZER = new DataExternalizer<List<ErlangFunctionInfo>>() {
+    @Override
+    public void save(DataOutput out, List<ErlangFunctionInfo> value) throws IOException {
+      DataInputOutputUtil.writeINT(out, value.size());
+      for (ErlangFunctionInfo info : value) {
+        EXTERNALIZER.save(out, info);
+      }
+    }
+
+    @Override
+    public List<ErlangFunctionInfo> read(DataInput in) throws IOException {
+      int size = DataInputOutputUtil.readINT(in);
+      List<ErlangFunctionInfo> result = new ArrayList<ErlangFunctionInfo>(size);
+      for (int i = 0; i < size; i++) {
+        result.add(EXTERNALIZER.read(in));
+      }
+      return result;
+    }
+  };
+
+  @NotNull private final String myName;
+  private final int myArity;
+  private final boolean myExported;
+  private final int myOffset;
+  @Nullable private final String mySpec;
+
+  public ErlangFunctionInfo(@NotNull String name, int arity, boolean exported, int offset, @Nullable String spec) {
+    myName = name;
+    myArity = arity;
+    myExported = exported;
+    myOffset = offset;
+    mySpec = spec;
+  }
+
+  @NotNull
+  public String getName() {
+    return myName;
+  }
+
+  public int getArity() {
+    return myArity;
+  }
+
+  public boolean isExported() {
+    return myExported;
+  }
+
+  /**
+   * Text offset of the function declaration in its file.
+   */
+  public int getOffset() {
+    return myOffset;
+  }
+
+  /**
+   * Text of the <code>-spec</code> type signatures, e.g. <code>(atom()) -> ok</code>, if the function has one.
+   */
+  @Nullable
+  public String getSpec() {
+    return mySpec;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+
+    ErlangFunctionInfo that = (ErlangFunctionInfo) o;
+    return myArity == that.myArity && myExported == that.myExported && myOffset == that.myOffset &&
+      myName.equals(that.myName) && (mySpec == null ? that.mySpec == null : mySpec.equals(that.mySpec));
+  }
+
+  @Override
+  public int hashCode() {
+    int result = myName.hashCode();
+    result = 31 * result + myArity;
+    result = 31 * result + (myExported ? 1 : 0);
+    result = 31 * result + myOffset;
+    result = 31 * result + (mySpec != null ? mySpec.hashCode() : 0);
+    return result;
+  }
+}
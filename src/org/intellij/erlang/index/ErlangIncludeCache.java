@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootAdapter;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.vfs.*;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.PsiTreeChangeEventImpl;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangInclude;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Project-level cache of transitive include closures.
+ * Dropped whenever an include attribute is edited, an Erlang file is created, moved, renamed or deleted,
+ * or the module roots or SDK change, since include paths are resolved within the module dependencies.
+ *
+ * @author ignatov
+ */
+public class ErlangIncludeCache {
+  private final Project myProject;
+  private final ConcurrentMap<VirtualFile, List<VirtualFile>> myIncludedFiles = new ConcurrentHashMap<VirtualFile, List<VirtualFile>>();
+
+  public ErlangIncludeCache(@NotNull Project project) {
+    myProject = project;
+    PsiManager.getInstance(project).addPsiTreeChangeListener(new MyPsiTreeChangeListener(), project);
+    VirtualFileManager.getInstance().addVirtualFileListener(new MyVirtualFileListener(), project);
+    project.getMessageBus().connect(project).subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootAdapter() {
+      @Override
+      public void rootsChanged(ModuleRootEvent event) {
+        clear();
+      }
+    });
+  }
+
+  @NotNull
+  public static ErlangIncludeCache getInstance(@NotNull Project project) {
+    return ServiceManager.getService(project, ErlangIncludeCache.class);
+  }
+
+  /**
+   * @return all files included by the given file directly or through other includes, in include order
+   */
+  @NotNull
+  public List<ErlangFile> getIncludedFiles(@NotNull ErlangFile file) {
+    VirtualFile vFile = file.getOriginalFile().getVirtualFile();
+    if (vFile == null) return collectIncludedFiles(file);
+
+    List<VirtualFile> cached = myIncludedFiles.get(vFile);
+    if (cached == null) {
+      List<ErlangFile> includedFiles = collectIncludedFiles(file);
+      cached = new ArrayList<VirtualFile>(includedFiles.size());
+      for (ErlangFile includedFile : includedFiles) {
+        VirtualFile includedVirtualFile = includedFile.getVirtualFile();
+        if (includedVirtualFile != null) cached.add(includedVirtualFile);
+      }
+      myIncludedFiles.put(vFile, cached);
+      return includedFiles;
+    }
+
+    List<ErlangFile> result = new ArrayList<ErlangFile>(cached.size());
+    PsiManager psiManager = PsiManager.getInstance(myProject);
+    for (VirtualFile includedVirtualFile : cached) {
+      PsiFile includedFile = includedVirtualFile.isValid() ? psiManager.findFile(includedVirtualFile) : null;
+      if (includedFile instanceof ErlangFile) {
+        result.add((ErlangFile) includedFile);
+      }
+    }
+    return result;
+  }
+
+  public void clear() {
+    myIncludedFiles.clear();
+  }
+
+  @NotNull
+  private static List<ErlangFile> collectIncludedFiles(@NotNull ErlangFile file) {
+    Set<ErlangFile> visited = new LinkedHashSet<ErlangFile>();
+    visited.add(file);
+    collectIncludedFiles(file, visited);
+    visited.remove(file);
+    return new ArrayList<ErlangFile>(visited);
+  }
+
+  private static void collectIncludedFiles(@NotNull ErlangFile file, @NotNull Set<ErlangFile> visited) {
+    for (ErlangInclude include : file.getIncludes()) {
+      for (ErlangFile includedFile : ErlangPsiImplUtil.getDirectlyIncludedFiles(include)) {
+        if (visited.add(includedFile)) {
+          collectIncludedFiles(includedFile, visited);
+        }
+      }
+    }
+  }
+
+  private static boolean isInInclude(@Nullable PsiElement element) {
+    return PsiTreeUtil.getParentOfType(element, ErlangInclude.class, false) != null;
+  }
+
+  private static boolean involvesInclude(@Nullable PsiElement child) {
+    return child instanceof PsiFileSystemItem || isInInclude(child);
+  }
+
+  private class MyPsiTreeChangeListener extends PsiTreeChangeAdapter {
+    @Override
+    public void childAdded(@NotNull PsiTreeChangeEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void childMoved(@NotNull PsiTreeChangeEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+      if (event instanceof PsiTreeChangeEventImpl && ((PsiTreeChangeEventImpl) event).isGenericChildrenChange()) return;
+      processEvent(event);
+    }
+
+    @Override
+    public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+      if (PsiTreeChangeEvent.PROP_FILE_NAME.equals(event.getPropertyName()) ||
+        PsiTreeChangeEvent.PROP_DIRECTORY_NAME.equals(event.getPropertyName())) {
+        clear();
+      }
+    }
+
+    private void processEvent(@NotNull PsiTreeChangeEvent event) {
+      // an include attribute added, removed or replaced as a whole is the child; an edit inside one has it as an ancestor
+      if (isInInclude(event.getParent()) || involvesInclude(event.getChild()) ||
+        involvesInclude(event.getOldChild()) || involvesInclude(event.getNewChild())) {
+        clear();
+      }
+    }
+  }
+
+  private class MyVirtualFileListener extends VirtualFileAdapter {
+    @Override
+    public void fileCreated(@NotNull VirtualFileEvent event) {
+      clear();
+    }
+
+    @Override
+    public void fileDeleted(@NotNull VirtualFileEvent event) {
+      clear();
+    }
+
+    @Override
+    public void fileMoved(@NotNull VirtualFileMoveEvent event) {
+      clear();
+    }
+
+    @Override
+    public void propertyChanged(@NotNull VirtualFilePropertyEvent event) {
+      if (VirtualFile.PROP_NAME.equals(event.getPropertyName())) {
+        clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import gnu.trove.THashMap;
+import org.intellij.erlang.ErlangSymbolIndex;
+import org.intellij.erlang.psi.ErlangFile;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes Erlang files by every trailing part of their path (with OTP application versions stripped),
+ * so <code>-include</code> and <code>-include_lib</code> paths are resolved with a single lookup.
+ *
+ * @author ignatov
+ */
+public class ErlangIncludePathIndex extends ScalarIndexExtension<String> {
+  public static final ID<String, Void> ERLANG_INCLUDE_PATH_INDEX = ID.create("ErlangIncludePathIndex");
+  private static final int INDEX_VERSION = 0;
+  private final DataIndexer<String, Void, FileContent> myDataIndexer = new MyDataIndexer();
+
+  @NotNull
+  @Override
+  public ID<String, Void> getName() {
+    return ERLANG_INCLUDE_PATH_INDEX;
+  }
+
+  @Override
+  public int getVersion() {
+    return INDEX_VERSION;
+  }
+
+  @NotNull
+  @Override
+  public DataIndexer<String, Void, FileContent> getIndexer() {
+    return myDataIndexer;
+  }
+
+  @Override
+  public KeyDescriptor<String> getKeyDescriptor() {
+    return new EnumeratorStringDescriptor();
+  }
+
+  @Override
+  public FileBasedIndex.InputFilter getInputFilter() {
+    return ErlangSymbolIndex.ERLANG_INPUT_FILTER;
+  }
+
+  @Override
+  public boolean dependsOnFileContent() {
+    return false;
+  }
+
+  @NotNull
+  public static List<ErlangFile> getFilesByPath(@NotNull Project project, @NotNull String includePath, @NotNull GlobalSearchScope searchScope) {
+    Collection<VirtualFile> files = FileBasedIndex.getInstance().getContainingFiles(ERLANG_INCLUDE_PATH_INDEX, includePath, searchScope);
+    List<ErlangFile> result = new ArrayList<ErlangFile>(files.size());
+    PsiManager psiManager = PsiManager.getInstance(project);
+    for (VirtualFile vFile : files) {
+      PsiFile file = psiManager.findFile(vFile);
+      if (file instanceof ErlangFile) {
+        result.add((ErlangFile) file);
+      }
+    }
+    return result;
+  }
+
+  private static class MyDataIndexer implements DataIndexer<String, Void, FileContent> {
+    @Override
+    @NotNull
+    public Map<String, Void> map(FileContent inputData) {
+      VirtualFile file = inputData.getFile();
+      String path = StringUtil.notNullize(file.getCanonicalPath(), file.getPath());
+      String normalizedPath = path.replaceAll("-[\\d\\.\\w-]+/", "/");
+      Map<String, Void> result = new THashMap<String, Void>();
+      result.put(normalizedPath, null);
+      for (int i = normalizedPath.indexOf('/'); i != -1; i = normalizedPath.indexOf('/', i + 1)) {
+        result.put(normalizedPath.substring(i + 1), null);
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.Function;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.IOUtil;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangNamedElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * @author ignatov
+ */
+public class ErlangIndexUtil {
+  public static final DataExternalizer<int[]> INT_ARRAY_EXTERNALIZER = new DataExternalizer<int[]>() {
+    @Override
+    public void save(DataOutput out, int[] value) throws IOException {
+      DataInputOutputUtil.writeINT(out, value.length);
+      for (int i : value) {
+        DataInputOutputUtil.writeINT(out, i);
+      }
+    }
+
+    @Override
+    public int[] read(DataInput in) throws IOException {
+      int[] result = new int[DataInputOutputUtil.readINT(in)];
+      for (int i = 0; i < result.length; i++) {
+        result[i] = DataInputOutputUtil.readINT(in);
+      }
+      return result;
+    }
+  };
+
+  public static final DataExternalizer<List<String>> STRING_LIST_EXTERNALIZER = new DataExternalizer<List<String>>() {
+    @Override
+    public void save(DataOutput out, List<String> value) throws IOException {
+      DataInputOutputUtil.writeINT(out, value.size());
+      for (String s : value) {
+        IOUtil.writeUTF(out, s);
+      }
+    }
+
+    @Override
+    public List<String> read(DataInput in) throws IOException {
+      int size = DataInputOutputUtil.readINT(in);
+      List<String> result = new ArrayList<String>(size);
+      for (int i = 0; i < size; i++) {
+        result.add(IOUtil.readUTF(in));
+      }
+      return result;
+    }
+  };
+
+  private ErlangIndexUtil() {
+  }
+
+  @NotNull
+  public static GlobalSearchScope getFilesScope(@NotNull Project project, @NotNull Collection<ErlangFile> files) {
+    List<VirtualFile> virtualFiles = new ArrayList<VirtualFile>(files.size());
+    for (ErlangFile file : files) {
+      VirtualFile virtualFile = file.getVirtualFile();
+      if (virtualFile != null) virtualFiles.add(virtualFile);
+    }
+    return GlobalSearchScope.filesScope(project, virtualFiles);
+  }
+
+  /**
+   * @return files from the given list which have the given key in the index, in the order of the list
+   */
+  @NotNull
+  public static List<ErlangFile> getFilesWithKey(@NotNull ID<String, ?> indexId, @NotNull String key, @NotNull Project project, @NotNull List<ErlangFile> files) {
+    if (files.isEmpty()) return files;
+    Collection<VirtualFile> containingFiles = FileBasedIndex.getInstance().getContainingFiles(indexId, key, getFilesScope(project, files));
+    if (containingFiles.isEmpty()) return Collections.emptyList();
+    List<ErlangFile> result = new ArrayList<ErlangFile>();
+    for (ErlangFile file : files) {
+      if (containingFiles.contains(file.getVirtualFile())) {
+        result.add(file);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return index keys defined in any of the given files, mapped to their values in the order of the list.
+   * The keys of a file are the names of its definitions, which are read from the stubs, and the values are looked up
+   * in that file only, so the cost does not depend on the size of the index.
+   */
+  @NotNull
+  public static <V> Map<String, List<V>> getKeysWithValues(@NotNull ID<String, V> indexId,
+                                                           @NotNull Function<ErlangFile, ? extends List<? extends ErlangNamedElement>> definitions,
+                                                           @NotNull Project project,
+                                                           @NotNull List<ErlangFile> files) {
+    if (files.isEmpty()) return Collections.emptyMap();
+    FileBasedIndex index = FileBasedIndex.getInstance();
+    Map<String, List<V>> result = new LinkedHashMap<String, List<V>>();
+    for (ErlangFile file : files) {
+      VirtualFile virtualFile = file.getVirtualFile();
+      if (virtualFile == null) continue;
+      GlobalSearchScope fileScope = GlobalSearchScope.filesScope(project, Collections.singletonList(virtualFile));
+      Set<String> names = new HashSet<String>();
+      for (ErlangNamedElement definition : definitions.fun(file)) {
+        String name = definition.getName();
+        if (name == null || !names.add(name)) continue;
+        List<V> values = index.getValues(indexId, name, fileScope);
+        if (values.isEmpty()) continue;
+        List<V> allValues = result.get(name);
+        if (allValues == null) {
+          allValues = new ArrayList<V>(values.size());
+          result.put(name, allValues);
+        }
+        allValues.addAll(values);
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.util.Function;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import gnu.trove.THashMap;
+import gnu.trove.TIntArrayList;
+import org.intellij.erlang.psi.ErlangArgumentDefinitionList;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangMacrosBody;
+import org.intellij.erlang.psi.ErlangMacrosDefinition;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Macros name to <code>(arity, body hash)</code> pairs, one pair per definition in a file.
+ * Arity is -1 for macroses defined without parentheses.
+ *
+ * @author ignatov
+ */
+public class ErlangMacrosIndex extends ErlangDefinitionIndex<int[]> {
+  public static final ID<String, int[]> ERLANG_MACROS_INDEX = ID.create("ErlangMacrosIndex");
+  public static final Function<ErlangFile, List<ErlangMacrosDefinition>> DEFINITIONS = new Function<ErlangFile, List<ErlangMacrosDefinition>>() {
+    @Override
+    public List<ErlangMacrosDefinition> fun(ErlangFile file) {
+      return file.getMacroses();
+    }
+  };
+
+  @NotNull
+  @Override
+  public ID<String, int[]> getName() {
+    return ERLANG_MACROS_INDEX;
+  }
+
+  @Override
+  public DataExternalizer<int[]> getValueExternalizer() {
+    return ErlangIndexUtil.INT_ARRAY_EXTERNALIZER;
+  }
+
+  @NotNull
+  @Override
+  protected Map<String, int[]> index(@NotNull ErlangFile file) {
+    Map<String, TIntArrayList> definitions = new THashMap<String, TIntArrayList>();
+    for (ErlangMacrosDefinition macros : file.getMacroses()) {
+      TIntArrayList list = definitions.get(macros.getName());
+      if (list == null) {
+        list = new TIntArrayList(2);
+        definitions.put(macros.getName(), list);
+      }
+      ErlangArgumentDefinitionList arguments = macros.getArgumentDefinitionList();
+      ErlangMacrosBody body = macros.getMacrosBody();
+      list.add(arguments == null ? -1 : arguments.getArgumentDefinitionList().size());
+      list.add(body == null ? 0 : body.getText().hashCode());
+    }
+    Map<String, int[]> result = new THashMap<String, int[]>(definitions.size());
+    for (Map.Entry<String, TIntArrayList> entry : definitions.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().toNativeArray());
+    }
+    return result;
+  }
+}
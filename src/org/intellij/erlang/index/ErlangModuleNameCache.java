@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.index;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootAdapter;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.*;
+import com.intellij.psi.search.FilenameIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.ArrayUtil;
+import org.intellij.erlang.ErlangFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Project-level sorted table of module names offered by module completion: project modules plus kernel and stdlib.
+ * Dropped whenever an Erlang file or a directory is created, moved, renamed or deleted, and on roots changes.
+ *
+ * @author ignatov
+ */
+public class ErlangModuleNameCache {
+  private static final Pattern STANDARD_MODULE_PATH = Pattern.compile(".*/lib/(kernel|stdlib)[\\-\\d\\.]+/src/.*\\.erl");
+
+  private static final Comparator<String> NAME_ORDER = new Comparator<String>() {
+    @Override
+    public int compare(String o1, String o2) {
+      int result = String.CASE_INSENSITIVE_ORDER.compare(o1, o2);
+      return result != 0 ? result : o1.compareTo(o2);
+    }
+  };
+
+  private final Project myProject;
+  private volatile String[] myNames;
+
+  public ErlangModuleNameCache(@NotNull Project project) {
+    myProject = project;
+    VirtualFileManager.getInstance().addVirtualFileListener(new MyVirtualFileListener(), project);
+    project.getMessageBus().connect(project).subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootAdapter() {
+      @Override
+      public void rootsChanged(ModuleRootEvent event) {
+        clear();
+      }
+    });
+  }
+
+  @NotNull
+  public static ErlangModuleNameCache getInstance(@NotNull Project project) {
+    return ServiceManager.getService(project, ErlangModuleNameCache.class);
+  }
+
+  /**
+   * @return module names starting with the given prefix ignoring case, sorted
+   */
+  @NotNull
+  public String[] getModuleNames(@NotNull String prefix) {
+    String[] names = getModuleNames();
+    if (prefix.isEmpty()) return names;
+    int from = Arrays.binarySearch(names, prefix, String.CASE_INSENSITIVE_ORDER);
+    if (from < 0) from = -from - 1;
+    while (from > 0 && StringUtil.startsWithIgnoreCase(names[from - 1], prefix)) from--;
+    int to = from;
+    while (to < names.length && StringUtil.startsWithIgnoreCase(names[to], prefix)) to++;
+    return from == to ? ArrayUtil.EMPTY_STRING_ARRAY : Arrays.copyOfRange(names, from, to);
+  }
+
+  @NotNull
+  private String[] getModuleNames() {
+    String[] names = myNames;
+    if (names == null) {
+      names = calcModuleNames();
+      myNames = names;
+    }
+    return names;
+  }
+
+  public void clear() {
+    myNames = null;
+  }
+
+  @NotNull
+  private String[] calcModuleNames() {
+    GlobalSearchScope projectScope = GlobalSearchScope.projectScope(myProject);
+    Set<String> names = new TreeSet<String>(NAME_ORDER);
+    for (VirtualFile file : FilenameIndex.getAllFilesByExt(myProject, "erl", GlobalSearchScope.allScope(myProject))) {
+      if (file.getFileType() != ErlangFileType.MODULE) continue;
+      if (projectScope.contains(file) || isStandardModule(file)) {
+        names.add(file.getNameWithoutExtension());
+      }
+    }
+    return ArrayUtil.toStringArray(names);
+  }
+
+  private static boolean isStandardModule(@NotNull VirtualFile file) {
+    String canonicalPath = file.getCanonicalPath();
+    return canonicalPath != null && STANDARD_MODULE_PATH.matcher(FileUtil.toSystemIndependentName(canonicalPath)).matches();
+  }
+
+  private class MyVirtualFileListener extends VirtualFileAdapter {
+    @Override
+    public void fileCreated(@NotNull VirtualFileEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void fileDeleted(@NotNull VirtualFileEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void fileMoved(@NotNull VirtualFileMoveEvent event) {
+      processEvent(event);
+    }
+
+    @Override
+    public void propertyChanged(@NotNull VirtualFilePropertyEvent event) {
+      if (VirtualFile.PROP_NAME.equals(event.getPropertyName()) &&
+        (event.getFile().isDirectory() || isModuleName(event.getOldValue()) || isModuleName(event.getNewValue()))) {
+        clear();
+      }
+    }
+
+    private void processEvent(@NotNull VirtualFileEvent event) {
+      VirtualFile file = event.getFile();
+      if (file.isDirectory() || file.getFileType() == ErlangFileType.MODULE) {
+        clear();
+      }
+    }
+
+    private boolean isModuleName(Object name) {
+      return name instanceof String && FileUtil.getExtension((String) name).equals(ErlangFileType.MODULE.getDefaultExtension());
+    }
+  }
+}
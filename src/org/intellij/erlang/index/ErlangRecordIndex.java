@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.util.Function;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import gnu.trove.THashMap;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangRecordDefinition;
+import org.intellij.erlang.psi.ErlangTypedExpr;
+import org.intellij.erlang.psi.ErlangTypedRecordFields;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Record name to field names.
+ *
+ * @author ignatov
+ */
+public class ErlangRecordIndex extends ErlangDefinitionIndex<List<String>> {
+  public static final ID<String, List<String>> ERLANG_RECORD_INDEX = ID.create("ErlangRecordIndex");
+  public static final Function<ErlangFile, List<ErlangRecordDefinition>> DEFINITIONS = new Function<ErlangFile, List<ErlangRecordDefinition>>() {
+    @Override
+    public List<ErlangRecordDefinition> fun(ErlangFile file) {
+      return file.getRecords();
+    }
+  };
+
+  @NotNull
+  @Override
+  public ID<String, List<String>> getName() {
+    return ERLANG_RECORD_INDEX;
+  }
+
+  @Override
+  public DataExternalizer<List<String>> getValueExternalizer() {
+    return ErlangIndexUtil.STRING_LIST_EXTERNALIZER;
+  }
+
+  @NotNull
+  @Override
+  protected Map<String, List<String>> index(@NotNull ErlangFile file) {
+    Map<String, List<String>> result = new THashMap<String, List<String>>();
+    for (ErlangRecordDefinition record : file.getRecords()) {
+      String name = record.getName();
+      if (result.containsKey(name)) continue;
+      result.put(name, getFieldNames(record));
+    }
+    return result;
+  }
+
+  @NotNull
+  public static List<String> getFieldNames(@NotNull ErlangRecordDefinition record) {
+    List<String> fields = new ArrayList<String>();
+    ErlangTypedRecordFields typedRecordFields = record.getTypedRecordFields();
+    if (typedRecordFields != null) {
+      for (ErlangTypedExpr typedExpr : typedRecordFields.getTypedExprList()) {
+        fields.add(typedExpr.getName());
+      }
+    }
+    return fields;
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.index;
+
+import com.intellij.util.Function;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import gnu.trove.THashMap;
+import gnu.trove.TIntArrayList;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangTypeDefinition;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Type name to arities of its definitions in a file.
+ *
+ * @author ignatov
+ */
+public class ErlangTypeIndex extends ErlangDefinitionIndex<int[]> {
+  public static final ID<String, int[]> ERLANG_TYPE_INDEX = ID.create("ErlangTypeIndex");
+  public static final Function<ErlangFile, List<ErlangTypeDefinition>> DEFINITIONS = new Function<ErlangFile, List<ErlangTypeDefinition>>() {
+    @Override
+    public List<ErlangTypeDefinition> fun(ErlangFile file) {
+      return file.getTypes();
+    }
+  };
+
+  @NotNull
+  @Override
+  public ID<String, int[]> getName() {
+    return ERLANG_TYPE_INDEX;
+  }
+
+  @Override
+  public DataExternalizer<int[]> getValueExternalizer() {
+    return ErlangIndexUtil.INT_ARRAY_EXTERNALIZER;
+  }
+
+  @NotNull
+  @Override
+  protected Map<String, int[]> index(@NotNull ErlangFile file) {
+    Map<String, TIntArrayList> arities = new THashMap<String, TIntArrayList>();
+    for (ErlangTypeDefinition type : file.getTypes()) {
+      TIntArrayList list = arities.get(type.getName());
+      if (list == null) {
+        list = new TIntArrayList(1);
+        arities.put(type.getName(), list);
+      }
+      list.add(ErlangPsiImplUtil.calculateTypeArity(type));
+    }
+    Map<String, int[]> result = new THashMap<String, int[]>(arities.size());
+    for (Map.Entry<String, TIntArrayList> entry : arities.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().toNativeArray());
+    }
+    return result;
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.inspection;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.*;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import org.intellij.erlang.psi.*;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.intellij.erlang.psi.impl.ErlangVarBindingTable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.*;
+
+/**
+ * Problems found by a single walk over an Erlang file, shared by the inspections.
+ * Every reference is resolved at most once per walk, and the result is cached until PSI changes,
+ * so the highlighting cost does not grow with the number of enabled inspections.
+ *
+ * @author ignatov
+ */
+public class ErlangFileAnalysis {
+  private static final Key<CachedValue<ErlangFileAnalysis>> ANALYSIS_KEY = Key.create("ERLANG_FILE_ANALYSIS");
+
+  private final List<ErlangQVar> myUnboundVariables = new ArrayList<ErlangQVar>();
+  private final List<ErlangQVar> myUnusedVariables = new ArrayList<ErlangQVar>();
+  private final List<ErlangExportFunction> myUnresolvedExports = new ArrayList<ErlangExportFunction>();
+  private final List<ErlangMacros> myUnresolvedMacros = new ArrayList<ErlangMacros>();
+  private final List<ErlangRecordExpression> myUnresolvedRecords = new ArrayList<ErlangRecordExpression>();
+  private final List<ErlangQAtom> myUnresolvedRecordFields = new ArrayList<ErlangQAtom>();
+  private final List<ErlangSpecification> myUndefinedSpecifications = new ArrayList<ErlangSpecification>();
+  private final List<ErlangTypeDefinition> myUnusedTypes = new ArrayList<ErlangTypeDefinition>();
+  private final List<ErlangModule> myModules = new ArrayList<ErlangModule>();
+
+  private ErlangFileAnalysis() {
+  }
+
+  @NotNull
+  public static ErlangFileAnalysis getInstance(@NotNull final ErlangFile file) {
+    return CachedValuesManager.getManager(file.getProject()).getCachedValue(file, ANALYSIS_KEY, new CachedValueProvider<ErlangFileAnalysis>() {
+      @Override
+      public Result<ErlangFileAnalysis> compute() {
+        return Result.create(analyze(file), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    }, false);
+  }
+
+  @NotNull
+  private static ErlangFileAnalysis analyze(@NotNull ErlangFile file) {
+    final ErlangFileAnalysis analysis = new ErlangFileAnalysis();
+    final List<ErlangTypeDefinition> typeDefinitions = new ArrayList<ErlangTypeDefinition>();
+    final Set<PsiElement> referencedTypes = new THashSet<PsiElement>();
+    final Map<ErlangRecordExpression, Boolean> recordResolved = new THashMap<ErlangRecordExpression, Boolean>();
+
+    file.accept(new ErlangRecursiveVisitor() {
+      @Override
+      public void visitQVar(@NotNull ErlangQVar o) {
+        PsiReference reference = o.getReference();
+        if (reference != null && reference.resolve() == null) {
+          boolean declaration = (inDefinition(o) && !inArgumentList(o)) || inAssignment(o);
+          if (declaration) {
+            ErlangFunctionClause clause = PsiTreeUtil.getTopmostParentOfType(o, ErlangFunctionClause.class);
+            if (!isForceSkipped(o) && !isMacros(o) && clause != null && !ErlangVarBindingTable.getInstance(clause).isUsed(o)) {
+              analysis.myUnusedVariables.add(o);
+            }
+          }
+          else if (!(inAtomAttribute(o) || isMacros(o) || isForceSkipped(o) || inSpecification(o) ||
+            inDefine(o) || inCallback(o) || inRecordDefinition(o))) {
+            analysis.myUnboundVariables.add(o);
+          }
+        }
+        super.visitQVar(o);
+      }
+
+      @Override
+      public void visitExportFunction(@NotNull ErlangExportFunction o) {
+        PsiReference reference = o.getReference();
+        if (reference != null && reference.resolve() == null) {
+          analysis.myUnresolvedExports.add(o);
+        }
+        super.visitExportFunction(o);
+      }
+
+      @Override
+      public void visitMacros(@NotNull ErlangMacros o) {
+        ErlangMacrosName macrosName = o.getMacrosName();
+        if (macrosName != null && !ErlangPsiImplUtil.KNOWN_MACROS.contains(macrosName.getText())) {
+          PsiReference reference = o.getReference();
+          if (reference != null && reference.resolve() == null) {
+            analysis.myUnresolvedMacros.add(o);
+          }
+        }
+        super.visitMacros(o);
+      }
+
+      @Override
+      public void visitRecordExpression(@NotNull ErlangRecordExpression o) {
+        if (!isResolved(o)) {
+          analysis.myUnresolvedRecords.add(o);
+        }
+        super.visitRecordExpression(o);
+      }
+
+      @Override
+      public void visitRecordField(@NotNull ErlangRecordField o) {
+        ErlangRecordExpression recordExpression = PsiTreeUtil.getParentOfType(o, ErlangRecordExpression.class);
+        if (recordExpression == null || isResolved(recordExpression)) {
+          PsiReference reference = o.getReference();
+          ErlangQAtom atom = o.getFieldNameAtom();
+          if ((reference == null || reference.resolve() == null) && atom != null) {
+            analysis.myUnresolvedRecordFields.add(atom);
+          }
+        }
+        super.visitRecordField(o);
+      }
+
+      @Override
+      public void visitSpecification(@NotNull ErlangSpecification o) {
+        ErlangFunTypeSigs signature = o.getSignature();
+        PsiReference reference = signature != null ? signature.getReference() : null;
+        if (reference != null && reference.resolve() == null) {
+          analysis.myUndefinedSpecifications.add(o);
+        }
+        super.visitSpecification(o);
+      }
+
+      @Override
+      public void visitTypeDefinition(@NotNull ErlangTypeDefinition o) {
+        typeDefinitions.add(o);
+        super.visitTypeDefinition(o);
+      }
+
+      @Override
+      public void visitTypeRef(@NotNull ErlangTypeRef o) {
+        addResolved(o.getReference(), referencedTypes);
+        super.visitTypeRef(o);
+      }
+
+      @Override
+      public void visitExportType(@NotNull ErlangExportType o) {
+        addResolved(o.getReference(), referencedTypes);
+        super.visitExportType(o);
+      }
+
+      @Override
+      public void visitModule(@NotNull ErlangModule o) {
+        analysis.myModules.add(o);
+        super.visitModule(o);
+      }
+
+      private boolean isResolved(@NotNull ErlangRecordExpression o) {
+        Boolean resolved = recordResolved.get(o);
+        if (resolved == null) {
+          PsiReference reference = o.getReference();
+          resolved = reference != null && reference.resolve() != null;
+          recordResolved.put(o, resolved);
+        }
+        return resolved;
+      }
+    });
+
+    for (ErlangTypeDefinition definition : typeDefinitions) {
+      if (!referencedTypes.contains(definition)) {
+        analysis.myUnusedTypes.add(definition);
+      }
+    }
+    return analysis;
+  }
+
+  private static void addResolved(@Nullable PsiReference reference, @NotNull Set<PsiElement> resolved) {
+    PsiElement element = reference != null ? reference.resolve() : null;
+    if (element != null) {
+      resolved.add(element);
+    }
+  }
+
+  @NotNull
+  public List<ErlangQVar> getUnboundVariables() {
+    return myUnboundVariables;
+  }
+
+  @NotNull
+  public List<ErlangQVar> getUnusedVariables() {
+    return myUnusedVariables;
+  }
+
+  @NotNull
+  public List<ErlangExportFunction> getUnresolvedExports() {
+    return myUnresolvedExports;
+  }
+
+  @NotNull
+  public List<ErlangMacros> getUnresolvedMacros() {
+    return myUnresolvedMacros;
+  }
+
+  /**
+   * Record expressions with a missing or unresolved record name.
+   */
+  @NotNull
+  public List<ErlangRecordExpression> getUnresolvedRecords() {
+    return myUnresolvedRecords;
+  }
+
+  /**
+   * Field name atoms of unresolved fields of resolved records.
+   */
+  @NotNull
+  public List<ErlangQAtom> getUnresolvedRecordFields() {
+    return myUnresolvedRecordFields;
+  }
+
+  @NotNull
+  public List<ErlangSpecification> getUndefinedSpecifications() {
+    return myUndefinedSpecifications;
+  }
+
+  @NotNull
+  public List<ErlangTypeDefinition> getUnusedTypes() {
+    return myUnusedTypes;
+  }
+
+  @NotNull
+  public List<ErlangModule> getModules() {
+    return myModules;
+  }
+}
@@ -77,7 +77,6 @@ import com.intellij.psi.PsiFile;
 import org.intellij.erlang.psi.ErlangCompositeElement;
 import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangModule;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
 import org.intellij.erlang.psi.impl.ErlangElementFactory;
 import org.jetbrains.annotations.NotNull;
 
@@ -88,24 +87,21 @@ import java.io.IOException;
  */
 public class ErlangIncorrectModuleNameInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitModule(@NotNull ErlangModule o) {
-        String ext = FileUtil.getExtension(o.getContainingFile().getName());
-        String withoutExtension = FileUtil.getNameWithoutExtension(o.getContainingFile().getName());
-        String moduleName = StringUtil.replace(o.getName(), "'", "");
-        ErlangCompositeElement atom = o.getQAtom();
-        if (atom != null && !StringUtil.equals(moduleName, withoutExtension)) {
-          problemsHolder.registerProblem(atom, "Module with name '" + moduleName + "' should be declared in a file named '" +
-            moduleName + "." + ext + "'.",
-            new ErlangRenameModuleFix(o, withoutExtension),
-            new ErlangRenameFileFix(o)
-          );
-        }
+    for (ErlangModule o : ErlangFileAnalysis.getInstance((ErlangFile) file).getModules()) {
+      String ext = FileUtil.getExtension(o.getContainingFile().getName());
+      String withoutExtension = FileUtil.getNameWithoutExtension(o.getContainingFile().getName());
+      String moduleName = StringUtil.replace(o.getName(), "'", "");
+      ErlangCompositeElement atom = o.getQAtom();
+      if (atom != null && !StringUtil.equals(moduleName, withoutExtension)) {
+        problemsHolder.registerProblem(atom, "Module with name '" + moduleName + "' should be declared in a file named '" +
+          moduleName + "." + ext + "'.",
+          new ErlangRenameModuleFix(o, withoutExtension),
+          new ErlangRenameFileFix(o)
+        );
       }
-    });
+    }
   }
 
   private static class ErlangRenameModuleFix implements LocalQuickFix {
@@ -18,32 +18,22 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
 import org.apache.commons.lang.StringUtils;
 import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangFunTypeSigs;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
 import org.intellij.erlang.psi.ErlangSpecification;
-import org.jetbrains.annotations.NotNull;
 
 public class ErlangSpecificationForUndefinedFunctionInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
-    if (!StringUtils.endsWith(file.getName(), ErlangFileType.MODULE.getDefaultExtension())) return;
-
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitSpecification(@NotNull ErlangSpecification o) {
-        //supported functions without modules only for now
-        ErlangFunTypeSigs signature = o.getSignature();
-        if (signature != null) {
-          PsiReference reference = signature.getReference();
-          if (reference != null && reference.resolve() == null) {
-            problemsHolder.registerProblem(o, "Specification for undefined function '" + signature.getSpecFun().getText() + "'");
-          }
-        }
-      }
-    });
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
+    if (!(file instanceof ErlangFile) || !StringUtils.endsWith(file.getName(), ErlangFileType.MODULE.getDefaultExtension())) return;
+    //supported functions without modules only for now
+    for (ErlangSpecification o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUndefinedSpecifications()) {
+      ErlangFunTypeSigs signature = o.getSignature();
+      if (signature == null) continue;
+      problemsHolder.registerProblem(o, "Specification for undefined function '" + signature.getSpecFun().getText() + "'");
+    }
   }
 
 }
@@ -18,35 +18,18 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
 import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangQVar;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
-import org.jetbrains.annotations.NotNull;
-
-import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.*;
 
 /**
  * @author ignatov
  */
 public class ErlangUnboundVariableInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitQVar(@NotNull ErlangQVar o) {
-        if ((inDefinition(o) && !inArgumentList(o))
-          || inAssignment(o) || inAtomAttribute(o) || isMacros(o)
-          || isForceSkipped(o) || inSpecification(o) || inDefine(o)
-          || inCallback(o) || inRecordDefinition(o)) {
-          return;
-        }
-        PsiReference reference = o.getReference();
-        if (reference != null && reference.resolve() == null) {
-          problemsHolder.registerProblem(o, "Variable " + "'" + o.getText() + "' is unbound");
-        }
-      }
-    });
+    for (ErlangQVar o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnboundVariables()) {
+      problemsHolder.registerProblem(o, "Variable " + "'" + o.getText() + "' is unbound");
+    }
   }
 }
@@ -50,27 +50,18 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
 import org.intellij.erlang.psi.ErlangExportFunction;
 import org.intellij.erlang.psi.ErlangFile;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * @author ignatov
  */
 public class ErlangUnresolvedFunctionInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitExportFunction(@NotNull ErlangExportFunction o) {
-        PsiReference reference = o.getReference();
-        if (reference != null && reference.resolve() == null) {
-          problemsHolder.registerProblem(o, "Unresolved function " + "'" + o.getText() + "'");
-        }
-      }
-    });
+    for (ErlangExportFunction o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnresolvedExports()) {
+      problemsHolder.registerProblem(o, "Unresolved function " + "'" + o.getText() + "'");
+    }
   }
 }
@@ -66,33 +66,18 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
 import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangMacros;
-import org.intellij.erlang.psi.ErlangMacrosName;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
-import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * @author ignatov
  */
 public class ErlangUnresolvedMacrosInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-
-      @Override
-      public void visitMacros(@NotNull ErlangMacros o) {
-        ErlangMacrosName macrosName = o.getMacrosName();
-        if (macrosName == null) return;
-        if (ErlangPsiImplUtil.KNOWN_MACROS.contains(macrosName.getText())) return;
-        PsiReference reference = o.getReference();
-        if (reference != null && reference.resolve() == null) {
-          problemsHolder.registerProblem(o, "Unresolved record " + "'" + o.getText() + "'");
-        }
-      }
-    });
+    for (ErlangMacros o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnresolvedMacros()) {
+      problemsHolder.registerProblem(o, "Unresolved record " + "'" + o.getText() + "'");
+    }
   }
 }
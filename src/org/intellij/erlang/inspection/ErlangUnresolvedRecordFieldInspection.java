@@ -50,38 +50,21 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
-import com.intellij.psi.util.PsiTreeUtil;
 import org.intellij.erlang.psi.*;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangQAtom;
 import org.intellij.erlang.quickfixes.ErlangIntroduceRecordFieldFix;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * @author ignatov
  */
 public class ErlangUnresolvedRecordFieldInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitRecordField(@NotNull ErlangRecordField o) {
-        ErlangRecordExpression recordExpression = PsiTreeUtil.getParentOfType(o, ErlangRecordExpression.class);
-        if (recordExpression != null) {
-          PsiReference reference = recordExpression.getReference();
-          if (reference != null && reference.resolve() == null) {
-            return;
-          }
-        }
-
-        PsiReference reference = o.getReference();
-        if (reference == null || reference.resolve() == null) {
-          ErlangQAtom atom = o.getFieldNameAtom();
-          if (atom == null) return;
-          problemsHolder.registerProblem(atom, "Unresolved record field " + "'" + atom.getText() + "'", new ErlangIntroduceRecordFieldFix());
-        }
-      }
-    });
+    for (ErlangQAtom atom : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnresolvedRecordFields()) {
+      problemsHolder.registerProblem(atom, "Unresolved record field " + "'" + atom.getText() + "'", new ErlangIntroduceRecordFieldFix());
+    }
   }
 
 }
@@ -34,33 +34,23 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
 import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangRecordExpression;
 import org.intellij.erlang.psi.ErlangRecordRef;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
 import org.intellij.erlang.quickfixes.ErlangIntroduceRecordFix;
-import org.jetbrains.annotations.NotNull;
 
 /**
  * @author ignatov
  */
 public class ErlangUnresolvedRecordInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitRecordExpression(@NotNull ErlangRecordExpression o) {
-        ErlangRecordRef ref = o.getRecordRef();
-        PsiReference reference = ref != null ? ref.getReference() : null;
-        if (reference == null || reference.resolve() == null) {
-          problemsHolder.registerProblem(ref != null ? ref : o,
-            "Unresolved record " + "'" + (ref != null ? ref.getText() : "") + "'",
-            new ErlangIntroduceRecordFix());
-        }
-        super.visitRecordExpression(o);
-      }
-    });
+    for (ErlangRecordExpression o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnresolvedRecords()) {
+      ErlangRecordRef ref = o.getRecordRef();
+      problemsHolder.registerProblem(ref != null ? ref : o,
+        "Unresolved record " + "'" + (ref != null ? ref.getText() : "") + "'",
+        new ErlangIntroduceRecordFix());
+    }
   }
 }
@@ -34,43 +34,20 @@ package org.intellij.erlang.inspection;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
-import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
-import com.intellij.psi.search.LocalSearchScope;
-import com.intellij.psi.search.searches.ReferencesSearch;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.Query;
 import org.intellij.erlang.psi.ErlangFile;
-import org.intellij.erlang.psi.ErlangFunctionClause;
 import org.intellij.erlang.psi.ErlangQVar;
-import org.intellij.erlang.psi.ErlangRecursiveVisitor;
 import org.intellij.erlang.quickfixes.ErlangRenameVariableFix;
-import org.jetbrains.annotations.NotNull;
-
-import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.*;
 
 /**
  * @author ignatov
  */
 public class ErlangUnusedVariableInspection extends ErlangBaseInspection {
   @Override
-  protected void checkFile(PsiFile file, final ProblemsHolder problemsHolder) {
+  protected void checkFile(PsiFile file, ProblemsHolder problemsHolder) {
     if (!(file instanceof ErlangFile)) return;
-    file.accept(new ErlangRecursiveVisitor() {
-      @Override
-      public void visitQVar(@NotNull ErlangQVar o) {
-        PsiReference reference = o.getReference();
-        PsiElement resolve = reference != null ? reference.resolve() : null;
-        if (resolve == null && !isForceSkipped(o) && !isMacros(o) && ((inDefinition(o) && !inArgumentList(o)) || inAssignment(o))) {
-          ErlangFunctionClause functionClause = PsiTreeUtil.getTopmostParentOfType(o, ErlangFunctionClause.class);
-          if (functionClause == null) return;
-          Query<PsiReference> search = ReferencesSearch.search(o, new LocalSearchScope(functionClause));
-          if (search.findFirst() == null) {
-            problemsHolder.registerProblem(o, "Unused variable " + "'" + o.getText() + "'", ProblemHighlightType.LIKE_UNUSED_SYMBOL, new ErlangRenameVariableFix());
-          }
-        }
-      }
-    });
+    for (ErlangQVar o : ErlangFileAnalysis.getInstance((ErlangFile) file).getUnusedVariables()) {
+      problemsHolder.registerProblem(o, "Unused variable " + "'" + o.getText() + "'", ProblemHighlightType.LIKE_UNUSED_SYMBOL, new ErlangRenameVariableFix());
+    }
   }
 }
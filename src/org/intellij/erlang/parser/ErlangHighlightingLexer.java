@@ -0,0 +1,190 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.parser;
+
+import com.intellij.lexer.FlexAdapter;
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import org.intellij.erlang.documentation.ErlangDocCommentLexer;
+import org.intellij.erlang.documentation.ErlangDocumentationProvider;
+import org.intellij.erlang.psi.ErlangTokenType;
+import org.jetbrains.annotations.NotNull;
+
+import static org.intellij.erlang.ErlangParserDefinition.ERL_COMMENT;
+import static org.intellij.erlang.ErlangParserDefinition.ERL_FUNCTION_DOC_COMMENT;
+import static org.intellij.erlang.ErlangParserDefinition.ERL_MODULE_DOC_COMMENT;
+import static org.intellij.erlang.ErlangTypes.*;
+
+/**
+ * Editor highlighting lexer which lexes comments one line per token.
+ * <p/>
+ * Comment lines never reach the flex lexer, whose doc comment rules match whole blocks: a line starting with {@code %}
+ * is cut at its line end here, and the delegate is restarted after it. The type of a line depends only on its own prefix,
+ * so every line is a restart point with the initial state, and re-lexing an edit scans the edited line instead of
+ * the rest of the comment block. {@link ErlangLexer} keeps the merged tokens for the parser. Each doc line is further
+ * split by {@link ErlangDocCommentLexer} into EDoc tags and plain text; only the first token of a line is a restart point.
+ * <p/>
+ * Attribute keywords ({@code -module}, {@code -record}, ...), macro names after {@code ?} and record names after {@code #}
+ * get their own token types, decided by the adjacent character only, so they stay restartable too: the editor re-lexes
+ * the token next to an edit, while a token behind whitespace could keep a stale type. {@code ? MODULE} is not a macro name here.
+ *
+ * @author ignatov
+ */
+public class ErlangHighlightingLexer extends LexerBase {
+  public static final IElementType ERL_ATTRIBUTE_KEYWORD = new ErlangTokenType("attribute_keyword");
+  public static final IElementType ERL_MACRO_NAME = new ErlangTokenType("macro_name");
+  public static final IElementType ERL_RECORD_NAME = new ErlangTokenType("record_name");
+
+  private static final int IN_DOC_LINE_STATE = 1 << 16;
+
+  private final FlexAdapter myDelegate = new FlexAdapter(new _ErlangLexer());
+  private final ErlangDocCommentLexer myModuleDocLexer =
+    new ErlangDocCommentLexer(ERL_MODULE_DOC_COMMENT, ErlangDocumentationProvider.EDOC_MODULE_TAGS);
+  private final ErlangDocCommentLexer myFunctionDocLexer =
+    new ErlangDocCommentLexer(ERL_FUNCTION_DOC_COMMENT, ErlangDocumentationProvider.EDOC_FUNCTION_TAGS);
+  private CharSequence myBuffer;
+  private int myBufferEnd;
+  private int myDelegateEnd;
+  private ErlangDocCommentLexer myDocLineLexer;
+  private int myDocLineStart;
+  private IElementType myTokenType;
+  private int myTokenStart;
+  private int myTokenEnd;
+
+  @Override
+  public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+    myBuffer = buffer;
+    myBufferEnd = endOffset;
+    myDelegateEnd = -1;
+    myDocLineLexer = null;
+    locateToken(startOffset);
+  }
+
+  @Override
+  public int getState() {
+    return myDocLineLexer != null && myTokenStart != myDocLineStart ? IN_DOC_LINE_STATE : 0;
+  }
+
+  @Override
+  public IElementType getTokenType() {
+    return myTokenType;
+  }
+
+  @Override
+  public int getTokenStart() {
+    return myTokenStart;
+  }
+
+  @Override
+  public int getTokenEnd() {
+    return myTokenEnd;
+  }
+
+  @Override
+  public void advance() {
+    if (myDocLineLexer != null) {
+      myDocLineLexer.advance();
+      if (myDocLineLexer.getTokenType() != null) {
+        setDocLineToken();
+        return;
+      }
+      myDocLineLexer = null;
+    }
+    locateToken(myTokenEnd);
+  }
+
+  @NotNull
+  @Override
+  public CharSequence getBufferSequence() {
+    return myBuffer;
+  }
+
+  @Override
+  public int getBufferEnd() {
+    return myBufferEnd;
+  }
+
+  private void locateToken(int start) {
+    if (start >= myBufferEnd) {
+      myTokenType = null;
+      myTokenStart = myTokenEnd = myBufferEnd;
+      return;
+    }
+    if (myBuffer.charAt(start) == '%') {
+      locateCommentLine(start);
+      return;
+    }
+
+    // the flex lexer has the initial state only, so it can be restarted after a comment line at no cost
+    if (myDelegateEnd == start) {
+      myDelegate.advance();
+    }
+    else {
+      myDelegate.start(myBuffer, start, myBufferEnd, 0);
+    }
+    IElementType type = myDelegate.getTokenType();
+    myTokenStart = myDelegate.getTokenStart();
+    myTokenEnd = myDelegate.getTokenEnd();
+    myDelegateEnd = myTokenEnd;
+    myTokenType = type == null ? null : refineType(type, myBuffer, myTokenStart, myTokenEnd);
+  }
+
+  private void locateCommentLine(int start) {
+    int end = start;
+    while (end < myBufferEnd && myBuffer.charAt(end) != '\n' && myBuffer.charAt(end) != '\r') end++;
+    myDelegateEnd = -1;
+    if (end - start < 2 || myBuffer.charAt(start + 1) != '%') {
+      myTokenType = ERL_COMMENT;
+      myTokenStart = start;
+      myTokenEnd = end;
+      return;
+    }
+    boolean moduleDoc = end - start >= 3 && myBuffer.charAt(start + 2) == '%';
+    myDocLineLexer = moduleDoc ? myModuleDocLexer : myFunctionDocLexer;
+    myDocLineLexer.start(myBuffer, start, end, 0);
+    myDocLineStart = start;
+    setDocLineToken();
+  }
+
+  private void setDocLineToken() {
+    myTokenType = myDocLineLexer.getTokenType();
+    myTokenStart = myDocLineLexer.getTokenStart();
+    myTokenEnd = myDocLineLexer.getTokenEnd();
+  }
+
+  @NotNull
+  private static IElementType refineType(@NotNull IElementType type, @NotNull CharSequence buffer, int start, int end) {
+    if (type == ERL_OP_MINUS) {
+      return isLineStart(buffer, start) && end < buffer.length() && Character.isLowerCase(buffer.charAt(end)) ? ERL_ATTRIBUTE_KEYWORD : type;
+    }
+    if (type != ERL_ATOM && type != ERL_VAR) return type;
+
+    int prev = start - 1;
+    if (prev < 0) return type;
+    char c = buffer.charAt(prev);
+    if (c == '?' && (prev == 0 || buffer.charAt(prev - 1) != '?' && buffer.charAt(prev - 1) != '$')) return ERL_MACRO_NAME;
+    if (type == ERL_VAR) return type;
+    if (c == '#' && (prev == 0 || buffer.charAt(prev - 1) != '$')) return ERL_RECORD_NAME;
+    if (c == '-' && isLineStart(buffer, prev)) return ERL_ATTRIBUTE_KEYWORD;
+    return type;
+  }
+
+  private static boolean isLineStart(@NotNull CharSequence buffer, int offset) {
+    return offset == 0 || buffer.charAt(offset - 1) == '\n' || buffer.charAt(offset - 1) == '\r';
+  }
+}
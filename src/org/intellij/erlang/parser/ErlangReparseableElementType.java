@@ -0,0 +1,121 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.parser;
+
+import com.intellij.lang.*;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.TokenType;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.impl.source.tree.TreeElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.intellij.erlang.ErlangLanguage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element types which can be re-parsed on their own when the edit stays inside them,
+ * so typing in a clause of a big module does not re-parse the whole file.
+ * <p/>
+ * A new text is accepted only if it parses into exactly one element of the same type without errors,
+ * otherwise the platform falls back to re-parsing the enclosing node.
+ *
+ * @author ignatov
+ */
+public abstract class ErlangReparseableElementType extends IReparseableElementType {
+  protected ErlangReparseableElementType(@NotNull String debugName) {
+    super(debugName, ErlangLanguage.INSTANCE);
+  }
+
+  public static IElementType factory(String name) {
+    if (name.equals("ERL_CLAUSE_BODY")) return new ErlangReparseableElementType(name) {
+      @Override
+      protected boolean parseElement(PsiBuilder builder, int level) {
+        return ErlangParser.clause_body(builder, level);
+      }
+    };
+    if (name.equals("ERL_FUNCTION_CLAUSE")) return new ErlangReparseableElementType(name) {
+      @Override
+      protected boolean parseElement(PsiBuilder builder, int level) {
+        return ErlangParser.function_clause(builder, level);
+      }
+    };
+    throw new RuntimeException("Unknown element type: " + name);
+  }
+
+  /**
+   * Parses one element of this type with the generated rule, so its pins and error reporting apply.
+   */
+  protected abstract boolean parseElement(PsiBuilder builder, int level);
+
+  @Override
+  public ASTNode createNode(CharSequence text) {
+    return new LazyParseableElement(this, text);
+  }
+
+  @Override
+  public ASTNode parseContents(ASTNode chameleon) {
+    Project project = chameleon.getPsi().getProject();
+    PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(project, chameleon, null, getLanguage(), chameleon.getChars());
+    PsiBuilder adapted = GeneratedParserUtilBase.adapt_builder_(this, builder, new ErlangParser());
+    PsiBuilder.Marker root = adapted.mark();
+    parseElement(adapted, 0);
+    if (!adapted.eof()) {
+      PsiBuilder.Marker rest = adapted.mark();
+      while (!adapted.eof()) {
+        adapted.advanceLexer();
+      }
+      rest.error("Unexpected tokens");
+    }
+    root.done(this);
+    ASTNode result = adapted.getTreeBuilt();
+    unwrap(result);
+    return result.getFirstChildNode();
+  }
+
+  /**
+   * The generated rule makes its own node of this type under the root, move its children up into the root instead.
+   */
+  private void unwrap(@NotNull ASTNode root) {
+    ASTNode element = root.getFirstChildNode();
+    if (element == null || element.getElementType() != this) return;
+    TreeElement children = (TreeElement) element.getFirstChildNode();
+    if (children != null) {
+      ((TreeElement) element).rawInsertBeforeMe(children);
+    }
+    ((TreeElement) element).rawRemove();
+  }
+
+  @Override
+  public boolean isParsable(CharSequence buffer, Project project) {
+    ParserDefinition definition = LanguageParserDefinitions.INSTANCE.forLanguage(getLanguage());
+    PsiBuilder builder = PsiBuilderFactory.getInstance().createBuilder(definition, definition.createLexer(project), buffer);
+    PsiBuilder adapted = GeneratedParserUtilBase.adapt_builder_(this, builder, new ErlangParser());
+    PsiBuilder.Marker root = adapted.mark();
+    if (!parseElement(adapted, 0) || !adapted.eof()) return false;
+    root.done(this);
+    return !hasErrors(adapted.getTreeBuilt());
+  }
+
+  private static boolean hasErrors(@NotNull ASTNode node) {
+    if (node.getElementType() == TokenType.ERROR_ELEMENT) return true;
+    for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+      if (hasErrors(child)) return true;
+    }
+    return false;
+  }
+}
@@ -40,10 +40,9 @@ import gnu.trove.THashSet;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 
 /**
  * @author gregsh
@@ -93,7 +92,7 @@ public class GeneratedParserUtilBase {
     if (!goodMarker) return false;
     ErrorState state = ErrorState.get(builder_);
 
-    Frame frame = state.levelCheck.isEmpty() ? null : state.levelCheck.getLast();
+    Frame frame = state.currentFrame;
     return frame == null || frame.errorReportedAt <= builder_.getCurrentOffset();
   }
 
@@ -143,7 +142,7 @@ public class GeneratedParserUtilBase {
   public static boolean replaceVariants(PsiBuilder builder_, int variantCount, String frameName) {
     ErrorState state = ErrorState.get(builder_);
     if (!state.suppressErrors && state.predicateCount < 2 && state.predicateSign) {
-      state.clearVariants(true, state.variants.size() - variantCount);
+      state.variants.setSize(state.variants.size() - variantCount);
       addVariantInner(state, builder_.getCurrentOffset(), frameName);
     }
     return true;
@@ -164,15 +163,14 @@ public class GeneratedParserUtilBase {
   }
 
   private static void addVariantInner(ErrorState state, int offset, Object o) {
-    Variant variant = state.VARIANTS.alloc().init(offset, o);
     if (state.predicateSign) {
-      state.variants.add(variant);
-      if (state.lastExpectedVariantOffset < variant.offset) {
-        state.lastExpectedVariantOffset = variant.offset;
+      state.variants.add(offset, o);
+      if (state.lastExpectedVariantOffset < offset) {
+        state.lastExpectedVariantOffset = offset;
       }
     }
     else {
-      state.unexpected.add(variant);
+      state.unexpected.add(offset, o);
     }
   }
 
@@ -258,7 +256,8 @@ public class GeneratedParserUtilBase {
   public static void enterErrorRecordingSection(PsiBuilder builder_, int level, @NotNull String sectionType, @Nullable String frameName) {
     ErrorState state = ErrorState.get(builder_);
     Frame frame = state.FRAMES.alloc().init(builder_.getCurrentOffset(), level, sectionType, frameName, state.variants.size());
-    state.levelCheck.add(frame);
+    frame.parentFrame = state.currentFrame;
+    state.currentFrame = frame;
     if (sectionType == _SECTION_AND_) {
       if (state.predicateCount == 0 && !state.predicateSign) {
         throw new AssertionError("Incorrect false predicate sign");
@@ -284,7 +283,8 @@ public class GeneratedParserUtilBase {
                                                   @Nullable Parser eatMore) {
     ErrorState state = ErrorState.get(builder_);
 
-    Frame frame = state.levelCheck.pollLast();
+    Frame frame = state.currentFrame;
+    if (frame != null) state.currentFrame = frame.parentFrame;
     int initialOffset = builder_.getCurrentOffset();
     if (frame == null || level != frame.level || !sectionType.equals(frame.section)) {
       LOG.error("Unbalanced error section: got " + new Frame().init(initialOffset, level, sectionType, "", 0) + ", expected " + frame);
@@ -299,7 +299,7 @@ public class GeneratedParserUtilBase {
     }
     if (!result && !pinned && initialOffset == frame.offset && state.lastExpectedVariantOffset == frame.offset &&
         frame.name != null && state.variants.size() - frame.variantCount > 1) {
-      state.clearVariants(true, frame.variantCount);
+      state.variants.setSize(frame.variantCount);
       addVariantInner(state, initialOffset, frame.name);
     }
     if (sectionType == _SECTION_RECOVER_ && !state.suppressErrors && eatMore != null) {
@@ -355,8 +355,8 @@ public class GeneratedParserUtilBase {
       }
       state.suppressErrors = false;
       if (errorReported || result) {
-        state.clearVariants(true, 0);
-        state.clearVariants(false, 0);
+        state.variants.setSize(0);
+        state.unexpected.setSize(0);
         state.lastExpectedVariantOffset = -1;
       }
       if (!result && eatMoreFlagOnce && frame.offset != builder_.getCurrentOffset()) result = true;
@@ -371,7 +371,7 @@ public class GeneratedParserUtilBase {
       }
     }
     // propagate errorReportedAt up the stack to avoid duplicate reporting
-    Frame prevFrame = state.levelCheck.isEmpty() ? null : state.levelCheck.getLast();
+    Frame prevFrame = state.currentFrame;
     if (prevFrame != null && prevFrame.errorReportedAt < frame.errorReportedAt) prevFrame.errorReportedAt = frame.errorReportedAt;
     state.FRAMES.recycle(frame);
     return result;
@@ -385,7 +385,7 @@ public class GeneratedParserUtilBase {
   public static void report_error_(PsiBuilder builder_) {
     ErrorState state = ErrorState.get(builder_);
 
-    Frame frame = state.levelCheck.isEmpty()? null : state.levelCheck.getLast();
+    Frame frame = state.currentFrame;
     if (frame == null) {
       LOG.error("Unbalanced error section: got null , expected " + frame);
       return;
@@ -462,7 +462,7 @@ public class GeneratedParserUtilBase {
     int predicateCount;
     boolean predicateSign = true;
     boolean suppressErrors;
-    final LinkedList<Frame> levelCheck = new LinkedList<Frame>();
+    Frame currentFrame;
     CompletionState completionState;
 
     private boolean caseSensitive;
@@ -472,22 +472,15 @@ public class GeneratedParserUtilBase {
     public boolean altMode;
 
     private int lastExpectedVariantOffset = -1;
-    ArrayList<Variant> variants = new ArrayList<Variant>();
-    ArrayList<Variant> unexpected = new ArrayList<Variant>();
-    final LimitedPool<Variant> VARIANTS = new LimitedPool<Variant>(5000, new LimitedPool.ObjectFactory<Variant>() {
-      public Variant create() {
-        return new Variant();
-      }
-
-      public void cleanup(final Variant o) {
-      }
-    });
+    final VariantList variants = new VariantList();
+    final VariantList unexpected = new VariantList();
     final LimitedPool<Frame> FRAMES = new LimitedPool<Frame>(100, new LimitedPool.ObjectFactory<Frame>() {
       public Frame create() {
         return new Frame();
       }
 
       public void cleanup(final Frame o) {
+        o.parentFrame = null;
       }
     });
 
@@ -522,13 +515,16 @@ public class GeneratedParserUtilBase {
 
     private static final int MAX_VARIANTS_TO_DISPLAY = Integer.MAX_VALUE;
     private boolean addExpected(StringBuilder sb, int offset, boolean expected) {
-      String[] strings = new String[variants.size()];
-      long[] hashes = new long[strings.length];
+      VariantList list = expected ? variants : unexpected;
+      int atOffset = list.countAt(offset);
+      if (atOffset == 0) return false;
+      String[] strings = new String[atOffset];
+      long[] hashes = new long[atOffset];
       Arrays.fill(strings, "");
       int count = 0;
-      loop: for (Variant variant : expected? variants : unexpected) {
-        if (offset == variant.offset) {
-          String text = variant.object.toString();
+      loop: for (int v = 0, size = list.size(); v < size; v++) {
+        if (offset == list.offsets[v]) {
+          String text = list.objects[v].toString();
           long hash = StringHash.calc(text);
           for (int i=0; i<count; i++) {
             if (hashes[i] == hash) continue loop;
@@ -561,14 +557,6 @@ public class GeneratedParserUtilBase {
       }
       return count > 0;
     }
-
-    void clearVariants(boolean expected, int start) {
-      ArrayList<Variant> list = expected? variants : unexpected;
-      for (int i = start, len = list.size(); i < len; i ++) {
-        VARIANTS.recycle(list.get(i));
-      }
-      list.subList(start, list.size()).clear();
-    }
   }
 
   public static class Frame {
@@ -578,6 +566,7 @@ public class GeneratedParserUtilBase {
     String name;
     int variantCount;
     int errorReportedAt;
+    Frame parentFrame;
 
     public Frame() {
     }
@@ -599,39 +588,51 @@ public class GeneratedParserUtilBase {
   }
 
 
-  public static class Variant {
-    int offset;
-    Object object;
+  /**
+   * Expected or unexpected variants kept as parallel arrays, so recording a variant on every token check
+   * is two array stores and never allocates once the arrays have grown to the size of the largest form.
+   */
+  public static class VariantList {
+    int[] offsets = new int[64];
+    Object[] objects = new Object[64];
+    int size;
 
-    public Variant init(int offset, Object text) {
-      this.offset = offset;
-      this.object = text;
-      return this;
+    void add(int offset, Object object) {
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, size * 2);
+        objects = Arrays.copyOf(objects, size * 2);
+      }
+      offsets[size] = offset;
+      objects[size] = object;
+      size++;
     }
 
-    @Override
-    public String toString() {
-      return "<" + offset + ", " + object + ">";
+    int size() {
+      return size;
     }
 
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-
-      Variant variant = (Variant)o;
-
-      if (offset != variant.offset) return false;
-      if (!this.object.equals(variant.object)) return false;
+    void setSize(int newSize) {
+      if (newSize >= size) return;
+      Arrays.fill(objects, Math.max(newSize, 0), size, null);
+      size = Math.max(newSize, 0);
+    }
 
-      return true;
+    int countAt(int offset) {
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        if (offsets[i] == offset) count++;
+      }
+      return count;
     }
 
     @Override
-    public int hashCode() {
-      int result = offset;
-      result = 31 * result + object.hashCode();
-      return result;
+    public String toString() {
+      StringBuilder sb = new StringBuilder("[");
+      for (int i = 0; i < size; i++) {
+        if (i > 0) sb.append(", ");
+        sb.append("<").append(offsets[i]).append(", ").append(objects[i]).append(">");
+      }
+      return sb.append("]").toString();
     }
   }
 
@@ -648,8 +649,8 @@ public class GeneratedParserUtilBase {
   private static final int MAX_CHILDREN_IN_TREE = 10;
   public static boolean parseAsTree(ErrorState state, final PsiBuilder builder_, int level, final IElementType chunkType,
                                     boolean checkBraces, final Parser parser, final Parser eatMoreCondition) {
-    final LinkedList<Pair<PsiBuilder.Marker, PsiBuilder.Marker>> parenList = new LinkedList<Pair<PsiBuilder.Marker, PsiBuilder.Marker>>();
-    final LinkedList<Pair<PsiBuilder.Marker, Integer>> siblingList = new LinkedList<Pair<PsiBuilder.Marker, Integer>>();
+    final ArrayDeque<Pair<PsiBuilder.Marker, PsiBuilder.Marker>> parenList = new ArrayDeque<Pair<PsiBuilder.Marker, PsiBuilder.Marker>>();
+    final ArrayDeque<Pair<PsiBuilder.Marker, Integer>> siblingList = new ArrayDeque<Pair<PsiBuilder.Marker, Integer>>();
     PsiBuilder.Marker marker = null;
 
     final Runnable checkSiblingsRunnable = new Runnable() {
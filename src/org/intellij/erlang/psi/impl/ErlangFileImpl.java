@@ -22,13 +22,12 @@ import com.intellij.openapi.util.Condition;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.psi.*;
-import com.intellij.psi.search.GlobalSearchScope;
-import com.intellij.psi.search.LocalSearchScope;
 import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.CachedValue;
 import com.intellij.psi.util.CachedValueProvider;
 import com.intellij.psi.util.CachedValuesManager;
-import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import com.intellij.util.Processor;
 import com.intellij.util.Query;
@@ -37,8 +36,10 @@ import com.intellij.util.containers.MultiMap;
 import gnu.trove.THashMap;
 import org.intellij.erlang.ErlangFileType;
 import org.intellij.erlang.ErlangLanguage;
+import org.intellij.erlang.ErlangTypes;
 import org.intellij.erlang.parser.GeneratedParserUtilBase;
 import org.intellij.erlang.psi.*;
+import org.intellij.erlang.stubs.ErlangFileStub;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -60,8 +61,7 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
     for (ErlangAttribute moduleAttributes : getAttributes()) {
       ErlangModule module = moduleAttributes.getModule();
       if (module != null) {
-        // todo: use module with dependencies scope
-        Query<PsiReference> search = ReferencesSearch.search(module, GlobalSearchScope.allScope(module.getProject()));
+        Query<PsiReference> search = ReferencesSearch.search(module, ErlangPsiImplUtil.getModuleWithDependentsScope(module));
         for (PsiReference psiReference : search) {
           psiReference.handleElementRename(nameWithoutExtension);
         }
@@ -178,40 +178,25 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
       myExportedFunctionValue = CachedValuesManager.getManager(getProject()).createCachedValue(new CachedValueProvider<Set<ErlangFunction>>() {
         @Override
         public Result<Set<ErlangFunction>> compute() {
-          ErlangFileImpl erlangFile = ErlangFileImpl.this;
-          return Result.create(calcExportedFunctions(erlangFile), erlangFile);
+          return Result.create(calcExportedFunctions(), ErlangFileImpl.this);
         }
       }, false);
     }
     return myExportedFunctionValue.getValue();
   }
 
-  private Set<ErlangFunction> calcExportedFunctions(final ErlangFileImpl erlangFile) {
+  private Set<ErlangFunction> calcExportedFunctions() {
     if (isExportedAll()) {
       return new HashSet<ErlangFunction>(getFunctions());
     }
-    final Set<ErlangFunction> result = new HashSet<ErlangFunction>();
-    processChildrenDummyAware(this, new Processor<PsiElement>() {
-      @Override
-      public boolean process(PsiElement psiElement) {
-        if (psiElement instanceof ErlangFunction) {
-          List<ErlangAttribute> attributes = erlangFile.getAttributes();
-          Query<PsiReference> search = ReferencesSearch.search(psiElement, new LocalSearchScope(attributes.toArray(new PsiElement[attributes.size()])));
-
-          List<PsiReference> exports = ContainerUtil.filter(search.findAll(), new Condition<PsiReference>() {
-            @Override
-            public boolean value(PsiReference psiReference) {
-              PsiElement element = psiReference.getElement();
-              return PsiTreeUtil.getParentOfType(element, ErlangExport.class) != null;
-            }
-          });
-          if (!exports.isEmpty()) {
-            result.add((ErlangFunction) psiElement);
-          }
-        }
-        return true;
+    Set<String> exports = ErlangPsiImplUtil.getExportedSignatures(this);
+    Set<ErlangFunction> result = new HashSet<ErlangFunction>();
+    if (exports.isEmpty()) return result;
+    for (ErlangFunction function : getFunctions()) {
+      if (exports.contains(ErlangPsiImplUtil.getSignature(function.getName(), function.getArity()))) {
+        result.add(function);
       }
-    });
+    }
     return result;
   }
 
@@ -289,6 +274,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangTypeDefinition> calcTypes() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_TYPE_DEFINITION, ErlangTypeDefinition.class);
+    }
     final List<ErlangTypeDefinition> result = new ArrayList<ErlangTypeDefinition>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -341,6 +330,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangMacrosDefinition> calcMacroses() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_MACROS_DEFINITION, ErlangMacrosDefinition.class);
+    }
     final List<ErlangMacrosDefinition> result = new ArrayList<ErlangMacrosDefinition>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -381,6 +374,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangRecordDefinition> calcRecords() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_RECORD_DEFINITION, ErlangRecordDefinition.class);
+    }
     final List<ErlangRecordDefinition> result = new ArrayList<ErlangRecordDefinition>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -409,6 +406,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangInclude> calcIncludes() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_INCLUDE, ErlangInclude.class);
+    }
     final List<ErlangInclude> result = new ArrayList<ErlangInclude>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -437,6 +438,14 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangBehaviour> calcBehaviours() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      List<ErlangBehaviour> result = new ArrayList<ErlangBehaviour>();
+      for (StubElement attribute : stub.getChildrenStubs()) {
+        result.addAll(getStubChildrenByType(attribute, ErlangTypes.ERL_BEHAVIOUR, ErlangBehaviour.class));
+      }
+      return result;
+    }
     final List<ErlangBehaviour> result = new ArrayList<ErlangBehaviour>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -503,6 +512,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangFunction> calcFunctions() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_FUNCTION, ErlangFunction.class);
+    }
     final List<ErlangFunction> result = new ArrayList<ErlangFunction>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -517,6 +530,10 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
   }
 
   private List<ErlangAttribute> calcAttributes() {
+    ErlangFileStub stub = getStub();
+    if (stub != null) {
+      return getStubChildrenByType(stub, ErlangTypes.ERL_ATTRIBUTE, ErlangAttribute.class);
+    }
     final List<ErlangAttribute> result = new ArrayList<ErlangAttribute>();
     processChildrenDummyAware(this, new Processor<PsiElement>() {
       @Override
@@ -544,6 +561,17 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
     return result;
   }
 
+  @NotNull
+  private static <E extends PsiElement> List<E> getStubChildrenByType(@NotNull StubElement<?> stub, @NotNull IElementType elementType, @NotNull Class<E> clazz) {
+    List<E> result = new ArrayList<E>();
+    for (StubElement child : stub.getChildrenStubs()) {
+      if (child.getStubType() == elementType) {
+        result.add(clazz.cast(child.getPsi()));
+      }
+    }
+    return result;
+  }
+
   private static boolean processChildrenDummyAware(PsiElement element, final Processor<PsiElement> processor) {
     return new Processor<PsiElement>() {
       @Override
@@ -559,6 +587,13 @@ public class ErlangFileImpl extends PsiFileBase implements ErlangFile, PsiNameId
     }.process(element);
   }
 
+  @Nullable
+  @Override
+  public ErlangFileStub getStub() {
+    StubElement stub = super.getStub();
+    return stub instanceof ErlangFileStub ? (ErlangFileStub) stub : null;
+  }
+
   @Nullable
   @Override
   public PsiElement getNameIdentifier() {
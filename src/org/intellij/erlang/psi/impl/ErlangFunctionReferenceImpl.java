@@ -17,19 +17,21 @@
 package org.intellij.erlang.psi.impl;
 
 import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.IncorrectOperationException;
 import com.intellij.util.containers.ContainerUtil;
 import org.intellij.erlang.bif.ErlangBifTable;
+import org.intellij.erlang.index.ErlangFunctionIndex;
 import org.intellij.erlang.psi.ErlangCallbackSpec;
 import org.intellij.erlang.psi.ErlangFile;
 import org.intellij.erlang.psi.ErlangFunction;
 import org.intellij.erlang.psi.ErlangQAtom;
+import org.intellij.erlang.stubs.index.ErlangModuleIndex;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,11 +60,11 @@ public class ErlangFunctionReferenceImpl<T extends ErlangQAtom> extends PsiPolyV
     if (suppressResolve()) return null; // for #132
 
     if (myModuleAtom != null) {
-      final ErlangFunction explicitFunction = getExternalFunction(getModuleFileName());
+      final ErlangFunction explicitFunction = getExternalFunction(myModuleAtom.getText());
       if (explicitFunction != null) {
         return explicitFunction;
       }
-      if (ErlangBifTable.isBif(myModuleAtom.getText(), myReferenceName, myArity)) {
+      if (ErlangBifTable.getInstance(getElement()).isBif(myModuleAtom.getText(), myReferenceName, myArity)) {
         return getElement();
       }
     }
@@ -81,13 +83,15 @@ public class ErlangFunctionReferenceImpl<T extends ErlangQAtom> extends PsiPolyV
 
     Collection<ErlangFunction> result;
     if (myModuleAtom != null) {
-      PsiFile[] files = FilenameIndex.getFilesByName(getElement().getProject(), getModuleFileName(),
-        GlobalSearchScope.allScope(getElement().getProject()));
+      Project project = getElement().getProject();
+      List<ErlangFile> files = ErlangModuleIndex.getFilesByName(project, myModuleAtom.getText(), ErlangPsiImplUtil.getModuleWithDependenciesScope(getElement()));
+      GlobalSearchScope fallbackScope = files.isEmpty() ? ErlangPsiImplUtil.getFallbackScope(getElement()) : null;
+      if (fallbackScope != null) {
+        files = ErlangModuleIndex.getFilesByName(project, myModuleAtom.getText(), fallbackScope);
+      }
       result = new ArrayList<ErlangFunction>();
-      for (PsiFile file : files) {
-        if (file instanceof ErlangFile) {
-          result.addAll(((ErlangFile) file).getFunctionsByName(myReferenceName));
-        }
+      for (ErlangFile file : files) {
+        result.addAll(file.getFunctionsByName(myReferenceName));
       }
     }
     else {
@@ -101,30 +105,20 @@ public class ErlangFunctionReferenceImpl<T extends ErlangQAtom> extends PsiPolyV
     return PsiTreeUtil.getParentOfType(myElement, ErlangCallbackSpec.class) != null;
   }
 
-  @NotNull
-  private String getModuleFileName() {
-    if (myModuleAtom != null) {
-      return myModuleAtom.getText() + ".erl";
-    }
-    return ".erl";
-  }
-
   @Override
   public boolean isReferenceTo(PsiElement element) {
     return getElement().getManager().areElementsEquivalent(resolve(), element);
   }
 
   @Nullable
-  private ErlangFunction getExternalFunction(@NotNull String moduleFileName) {
-    PsiFile[] files = FilenameIndex.getFilesByName(getElement().getProject(), moduleFileName,
-      GlobalSearchScope.allScope(getElement().getProject())); // todo: use module scope
-    List<ErlangFunction> result = new ArrayList<ErlangFunction>();
-    for (PsiFile file : files) {
-      if (file instanceof ErlangFile) {
-        result.add(((ErlangFile) file).getFunction(myReferenceName, myArity));
-      }
+  private ErlangFunction getExternalFunction(@NotNull String moduleName) {
+    Project project = getElement().getProject();
+    List<ErlangFunction> functions = ErlangFunctionIndex.getFunctions(project, moduleName, myReferenceName, myArity, ErlangPsiImplUtil.getModuleWithDependenciesScope(getElement()));
+    GlobalSearchScope fallbackScope = functions.isEmpty() ? ErlangPsiImplUtil.getFallbackScope(getElement()) : null;
+    if (fallbackScope != null) {
+      functions = ErlangFunctionIndex.getFunctions(project, moduleName, myReferenceName, myArity, fallbackScope);
     }
-    return ContainerUtil.getFirstItem(result);
+    return ContainerUtil.getFirstItem(functions);
   }
 
   @NotNull
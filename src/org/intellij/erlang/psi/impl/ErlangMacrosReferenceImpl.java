@@ -88,7 +88,7 @@ public class ErlangMacrosReferenceImpl<T extends ErlangMacrosName> extends PsiRe
       if (macros != null) {
         return macros;
       }
-      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangMacrosesFromIncludes((ErlangFile) containingFile, false, myReferenceName));
+      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangMacrosesFromIncludes((ErlangFile) containingFile, myReferenceName));
     }
     return null;
   }
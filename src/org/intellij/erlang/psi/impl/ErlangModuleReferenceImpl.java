@@ -16,16 +16,17 @@
 
 package org.intellij.erlang.psi.impl;
 
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiFile;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.containers.ContainerUtil;
 import org.intellij.erlang.psi.ErlangModule;
 import org.intellij.erlang.psi.ErlangQAtom;
+import org.intellij.erlang.stubs.index.ErlangModuleIndex;
 import org.jetbrains.annotations.NotNull;
 
-import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.getModule;
+import java.util.Collection;
 
 /**
  * @author ignatov
@@ -37,12 +38,13 @@ public class ErlangModuleReferenceImpl<T extends ErlangQAtom> extends ErlangAtom
 
   @Override
   public PsiElement resolve() {
-    PsiFile[] files = FilenameIndex.getFilesByName(myElement.getProject(), myReferenceName, GlobalSearchScope.allScope(myElement.getProject()));
-    for (PsiFile file : files) {
-      ErlangModule module = getModule(file);
-      if (module != null) return module;
+    Project project = myElement.getProject();
+    Collection<ErlangModule> modules = ErlangModuleIndex.getModulesByName(project, myReferenceName, ErlangPsiImplUtil.getModuleWithDependenciesScope(myElement));
+    GlobalSearchScope fallbackScope = modules.isEmpty() ? ErlangPsiImplUtil.getFallbackScope(myElement) : null;
+    if (fallbackScope != null) {
+      modules = ErlangModuleIndex.getModulesByName(project, myReferenceName, fallbackScope);
     }
-    return null;
+    return ContainerUtil.getFirstItem(modules);
   }
 
   @NotNull
@@ -27,9 +27,11 @@ import com.intellij.lang.ASTNode;
 import com.intellij.navigation.ItemPresentation;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Comparing;
-import com.intellij.openapi.util.Condition;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.util.io.FileUtil;
@@ -41,28 +43,37 @@ import com.intellij.psi.formatter.FormatterUtil;
 import com.intellij.psi.impl.PsiManagerEx;
 import com.intellij.psi.impl.ResolveScopeManager;
 import com.intellij.psi.scope.PsiScopeProcessor;
-import com.intellij.psi.search.FilenameIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.search.LocalSearchScope;
 import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.*;
 import com.intellij.util.containers.ContainerUtil;
+import gnu.trove.THashSet;
 import org.apache.commons.lang.StringUtils;
 import org.intellij.erlang.ErlangCompletionContributor;
-import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.ErlangFunctionLookupElement;
 import org.intellij.erlang.ErlangIcons;
 import org.intellij.erlang.ErlangTypes;
 import org.intellij.erlang.bif.ErlangBifDescriptor;
 import org.intellij.erlang.bif.ErlangBifTable;
+import org.intellij.erlang.index.*;
 import org.intellij.erlang.parser.ErlangParserUtil;
 import org.intellij.erlang.psi.*;
+import org.intellij.erlang.sdk.ErlangSdkRelease;
+import org.intellij.erlang.sdk.ErlangSdkType;
+import org.intellij.erlang.stubs.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.*;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class ErlangPsiImplUtil {
   public static final Set<String> KNOWN_MACROS = ContainerUtil.set("MODULE", "MODULE_NAME", "FILE", "LINE", "MACHINE");
@@ -72,6 +83,10 @@ public class ErlangPsiImplUtil {
     "iolist", "module", "atom", "mfa", "node", "timeout", "no_return", "none"
   );
 
+  private static final Key<CachedValue<List<LookupElement>>> FUNCTION_LOOKUP_ELEMENTS = Key.create("ERLANG_FUNCTION_LOOKUP_ELEMENTS");
+  private static final Key<CachedValue<List<LookupElement>>> FUNCTION_WITH_ARITY_LOOKUP_ELEMENTS = Key.create("ERLANG_FUNCTION_WITH_ARITY_LOOKUP_ELEMENTS");
+  private static final ConcurrentMap<String, List<LookupElement>> BIF_LOOKUP_ELEMENTS = new ConcurrentHashMap<String, List<LookupElement>>();
+
   private ErlangPsiImplUtil() {
   }
 
@@ -238,10 +253,32 @@ public class ErlangPsiImplUtil {
       o.getQAtom().getText(), getArity(arity));
   }
 
-  private static int getArity(@Nullable PsiElement arity) {
+  public static int getArity(@Nullable PsiElement arity) {
     return StringUtil.parseInt(arity == null ? "" : arity.getText(), -1);
   }
 
+  /**
+   * @return unquoted <code>name/arity</code> of every function listed in the -export attributes of the file
+   */
+  @NotNull
+  public static Set<String> getExportedSignatures(@NotNull ErlangFile file) {
+    Set<String> result = new THashSet<String>();
+    for (ErlangAttribute attribute : file.getAttributes()) {
+      ErlangExport export = attribute.getExport();
+      ErlangExportFunctions exportFunctions = export != null ? export.getExportFunctions() : null;
+      if (exportFunctions == null) continue;
+      for (ErlangExportFunction exportFunction : exportFunctions.getExportFunctionList()) {
+        result.add(getSignature(exportFunction.getQAtom().getText(), getArity(exportFunction.getInteger())));
+      }
+    }
+    return result;
+  }
+
+  @NotNull
+  public static String getSignature(@NotNull String name, int arity) {
+    return StringUtil.unquoteString(name) + "/" + arity;
+  }
+
   @Nullable
   public static PsiReference getReference(@NotNull ErlangMacros o) {
     ErlangMacrosName macrosName = o.getMacrosName();
@@ -315,37 +352,35 @@ public class ErlangPsiImplUtil {
   @NotNull
   public static List<LookupElement> getFunctionLookupElements(@NotNull PsiFile containingFile, final boolean withArity, @Nullable ErlangColonQualifiedExpression colonQualifier) {
     if (containingFile instanceof ErlangFile && !ErlangParserUtil.isApplicationConfigFileType(containingFile)) {
-      List<ErlangFunction> functions = new ArrayList<ErlangFunction>();
+      List<LookupElement> lookupElements = new ArrayList<LookupElement>();
 
       String moduleName = null;
       if (colonQualifier != null) {
         ErlangExpression qAtom = ContainerUtil.getFirstItem(colonQualifier.getExpressionList());
         if (qAtom != null) {
           moduleName = qAtom.getText();
-          functions.addAll(getExternalFunctionForCompletion(containingFile.getProject(), moduleName + ".erl"));
+          List<ErlangFunctionInfo> exported = ErlangExportIndex.getExportedFunctions(moduleName, getModuleWithDependenciesScope(containingFile));
+          GlobalSearchScope fallbackScope = exported.isEmpty() ? getFallbackScope(containingFile) : null;
+          if (fallbackScope != null) {
+            exported = ErlangExportIndex.getExportedFunctions(moduleName, fallbackScope);
+          }
+          for (ErlangFunctionInfo info : exported) {
+            lookupElements.add(PrioritizedLookupElement.withPriority(new ErlangFunctionLookupElement(info, getInsertHandler(info.getArity(), withArity)),
+              ErlangCompletionContributor.MODULE_FUNCTIONS_PRIORITY));
+          }
         }
       }
       else {
-        functions.addAll(((ErlangFile) containingFile).getFunctions());
+        lookupElements.addAll(getLocalFunctionLookupElements((ErlangFile) containingFile.getOriginalFile(), withArity));
       }
 
-      List<LookupElement> lookupElements = ContainerUtil.map(functions, new Function<ErlangFunction, LookupElement>() {
-        @Override
-        public LookupElement fun(@NotNull final ErlangFunction function) {
-          return createFunctionLookupElement(function, withArity, ErlangCompletionContributor.MODULE_FUNCTIONS_PRIORITY);
-        }
-      });
-
+      ErlangSdkRelease release = ErlangSdkType.getRelease(containingFile);
       if (!withArity) {
-        for (ErlangBifDescriptor bif : ErlangBifTable.getModuleBifs("erlang")) {
-          lookupElements.add(createFunctionLookupElement(bif.getName(), bif.getArity(), withArity, ErlangCompletionContributor.BIF_PRIORITY));
-        }
+        lookupElements.addAll(getBifLookupElements(release, "erlang", false, ErlangCompletionContributor.BIF_PRIORITY));
       }
 
       if (moduleName != null) {
-        for (ErlangBifDescriptor bif : ErlangBifTable.getModuleBifs(moduleName)) {
-          lookupElements.add(createFunctionLookupElement(bif.getName(), bif.getArity(), withArity, ErlangCompletionContributor.MODULE_FUNCTIONS_PRIORITY));
-        }
+        lookupElements.addAll(getBifLookupElements(release, moduleName, withArity, ErlangCompletionContributor.MODULE_FUNCTIONS_PRIORITY));
       }
 
       return lookupElements;
@@ -353,6 +388,43 @@ public class ErlangPsiImplUtil {
     return Collections.emptyList();
   }
 
+  /**
+   * Lookup elements for the functions of the file, shared by completion and reference variants until the file changes.
+   */
+  @NotNull
+  private static List<LookupElement> getLocalFunctionLookupElements(@NotNull final ErlangFile file, final boolean withArity) {
+    Key<CachedValue<List<LookupElement>>> key = withArity ? FUNCTION_WITH_ARITY_LOOKUP_ELEMENTS : FUNCTION_LOOKUP_ELEMENTS;
+    return CachedValuesManager.getManager(file.getProject()).getCachedValue(file, key, new CachedValueProvider<List<LookupElement>>() {
+      @Override
+      public Result<List<LookupElement>> compute() {
+        List<LookupElement> result = new ArrayList<LookupElement>();
+        for (ErlangFunction function : file.getFunctions()) {
+          result.add(createFunctionLookupElement(function, withArity, ErlangCompletionContributor.MODULE_FUNCTIONS_PRIORITY));
+        }
+        return Result.create(result, file);
+      }
+    }, false);
+  }
+
+  /**
+   * BIF lookup elements hold no PSI, so they are built once per release and shared by all files.
+   */
+  @NotNull
+  private static List<LookupElement> getBifLookupElements(@Nullable ErlangSdkRelease release, @NotNull String moduleName, boolean withArity, int priority) {
+    String key = release + ":" + moduleName + (withArity ? "/" : ":") + priority;
+    List<LookupElement> cached = BIF_LOOKUP_ELEMENTS.get(key);
+    if (cached != null) return cached;
+
+    Collection<ErlangBifDescriptor> bifs = ErlangBifTable.getInstance(release).getModuleBifs(moduleName);
+    if (bifs.isEmpty()) return Collections.emptyList();
+    List<LookupElement> result = new ArrayList<LookupElement>(bifs.size());
+    for (ErlangBifDescriptor bif : bifs) {
+      result.add(createFunctionLookupElement(bif.getName(), bif.getArity(), withArity, priority));
+    }
+    List<LookupElement> previous = BIF_LOOKUP_ELEMENTS.putIfAbsent(key, Collections.unmodifiableList(result));
+    return previous != null ? previous : BIF_LOOKUP_ELEMENTS.get(key);
+  }
+
   private static LookupElement createFunctionLookupElement(ErlangFunction function, boolean withArity, double priority) {
     int arity = function.getArity();
     return PrioritizedLookupElement.withPriority(LookupElementBuilder.create(function)
@@ -410,20 +482,22 @@ public class ErlangPsiImplUtil {
   @NotNull
   public static List<LookupElement> getMacrosLookupElements(@NotNull PsiFile containingFile) {
     if (containingFile instanceof ErlangFile) {
-      List<ErlangMacrosDefinition> concat = ContainerUtil.concat(((ErlangFile) containingFile).getMacroses(), getErlangMacrosesFromIncludes((ErlangFile) containingFile, true, ""));
-      List<LookupElement> fromFile = ContainerUtil.map(
-        concat,
-        new Function<ErlangMacrosDefinition, LookupElement>() {
-          @Override
-          public LookupElement fun(@NotNull ErlangMacrosDefinition md) {
-            return LookupElementBuilder.create(md).withIcon(ErlangIcons.MACROS);
-          }
-        });
-      List<LookupElement> stdMacros = new ArrayList<LookupElement>();
+      List<LookupElement> result = new ArrayList<LookupElement>();
+      Set<String> names = new THashSet<String>();
+      for (ErlangMacrosDefinition md : ((ErlangFile) containingFile).getMacroses()) {
+        names.add(md.getName());
+        result.add(LookupElementBuilder.create(md).withIcon(ErlangIcons.MACROS));
+      }
+      List<ErlangFile> includedFiles = getIncludedFiles((ErlangFile) containingFile);
+      for (String name : ErlangIndexUtil.getKeysWithValues(ErlangMacrosIndex.ERLANG_MACROS_INDEX, ErlangMacrosIndex.DEFINITIONS, containingFile.getProject(), includedFiles).keySet()) {
+        if (names.add(name)) {
+          result.add(LookupElementBuilder.create(name).withIcon(ErlangIcons.MACROS));
+        }
+      }
       for (String m : KNOWN_MACROS) {
-        stdMacros.add(LookupElementBuilder.create(m).withIcon(ErlangIcons.MACROS));
+        result.add(LookupElementBuilder.create(m).withIcon(ErlangIcons.MACROS));
       }
-      return ContainerUtil.concat(fromFile, stdMacros);
+      return result;
     }
     return Collections.emptyList();
   }
@@ -431,19 +505,29 @@ public class ErlangPsiImplUtil {
   @NotNull
   public static List<LookupElement> getRecordLookupElements(@NotNull PsiFile containingFile) {
     if (containingFile instanceof ErlangFile) {
-      List<ErlangRecordDefinition> concat = ContainerUtil.concat(((ErlangFile) containingFile).getRecords(), getErlangRecordFromIncludes((ErlangFile) containingFile, true, ""));
-      return ContainerUtil.map(
-        concat,
-        new Function<ErlangRecordDefinition, LookupElement>() {
-          @Override
-          public LookupElement fun(@NotNull ErlangRecordDefinition rd) {
-            return LookupElementBuilder.create(rd).withIcon(ErlangIcons.RECORD);
-          }
-        });
+      List<LookupElement> result = new ArrayList<LookupElement>();
+      Set<String> names = new THashSet<String>();
+      for (ErlangRecordDefinition rd : ((ErlangFile) containingFile).getRecords()) {
+        names.add(rd.getName());
+        result.add(LookupElementBuilder.create(rd).withIcon(ErlangIcons.RECORD).withTailText(createRecordFieldsPresentation(ErlangRecordIndex.getFieldNames(rd)), true));
+      }
+      List<ErlangFile> includedFiles = getIncludedFiles((ErlangFile) containingFile);
+      Map<String, List<List<String>>> fromIncludes = ErlangIndexUtil.getKeysWithValues(ErlangRecordIndex.ERLANG_RECORD_INDEX, ErlangRecordIndex.DEFINITIONS, containingFile.getProject(), includedFiles);
+      for (Map.Entry<String, List<List<String>>> entry : fromIncludes.entrySet()) {
+        if (names.add(entry.getKey())) {
+          result.add(LookupElementBuilder.create(entry.getKey()).withIcon(ErlangIcons.RECORD).withTailText(createRecordFieldsPresentation(entry.getValue().get(0)), true));
+        }
+      }
+      return result;
     }
     return Collections.emptyList();
   }
 
+  @NotNull
+  private static String createRecordFieldsPresentation(@NotNull List<String> fields) {
+    return "{" + StringUtil.join(fields, ", ") + "}";
+  }
+
   @NotNull
   public static List<LookupElement> getTypeLookupElements(@NotNull PsiFile containingFile, boolean addBuiltInTypes, final boolean withArity) {
     if (containingFile instanceof ErlangFile) {
@@ -471,12 +555,25 @@ public class ErlangPsiImplUtil {
             return LookupElementBuilder.create(rd).withIcon(ErlangIcons.TYPE).withInsertHandler(getInsertHandler(calculateTypeArity(rd), withArity));
           }
         });
+
+      Set<String> names = new THashSet<String>();
+      for (ErlangTypeDefinition type : types) {
+        names.add(type.getName());
+      }
+      List<ErlangFile> includedFiles = getIncludedFiles((ErlangFile) containingFile);
+      for (Map.Entry<String, List<int[]>> entry : ErlangIndexUtil.getKeysWithValues(ErlangTypeIndex.ERLANG_TYPE_INDEX, ErlangTypeIndex.DEFINITIONS, containingFile.getProject(), includedFiles).entrySet()) {
+        if (!names.add(entry.getKey())) continue;
+        int arity = entry.getValue().get(0)[0];
+        foundedTypes.add(LookupElementBuilder.create(entry.getKey()).withIcon(ErlangIcons.TYPE).withInsertHandler(getInsertHandler(arity, withArity)));
+      }
       return ContainerUtil.concat(foundedTypes, builtInTypes);
     }
     return Collections.emptyList();
   }
 
-  private static int calculateTypeArity(ErlangTypeDefinition rd) {
+  public static int calculateTypeArity(ErlangTypeDefinition rd) {
+    ErlangTypeDefinitionStub stub = rd.getStub();
+    if (stub != null) return stub.getArity();
     ErlangArgumentDefinitionList argumentDefinitionList = rd.getArgumentDefinitionList();
     if (argumentDefinitionList == null) return 0;
     return argumentDefinitionList.getArgumentDefinitionList().size();
@@ -484,6 +581,8 @@ public class ErlangPsiImplUtil {
 
   @NotNull
   public static String getName(@NotNull ErlangFunction o) {
+    ErlangFunctionStub stub = o.getStub();
+    if (stub != null) return StringUtil.notNullize(stub.getName());
     PsiElement atom = o.getAtomName().getAtom();
     if (atom != null) {
       return atom.getText();
@@ -498,11 +597,15 @@ public class ErlangPsiImplUtil {
   }
 
   public static int getArity(@NotNull ErlangFunction o) {
+    ErlangFunctionStub stub = o.getStub();
+    if (stub != null) return stub.getArity();
     return o.getFunctionClauseList().get(0).getArgumentDefinitionList().getArgumentDefinitionList().size();
   }
 
   @NotNull
   public static String getName(@NotNull ErlangRecordDefinition o) {
+    ErlangRecordDefinitionStub stub = o.getStub();
+    if (stub != null) return StringUtil.notNullize(stub.getName());
     ErlangQAtom atom = o.getQAtom();
     if (atom == null) return "";
     return atom.getText();
@@ -545,7 +648,7 @@ public class ErlangPsiImplUtil {
   public static PsiReference getReference(@NotNull ErlangModuleRef o) {
     ErlangQAtom atom = o.getQAtom();
     return new ErlangModuleReferenceImpl<ErlangQAtom>(atom,
-      TextRange.from(0, atom.getTextLength()), atom.getText() + ".erl");
+      TextRange.from(0, atom.getTextLength()), atom.getText());
   }
 
   @NotNull
@@ -591,6 +694,8 @@ public class ErlangPsiImplUtil {
 
   @NotNull
   public static String getName(@NotNull ErlangModule o) {
+    ErlangModuleStub stub = o.getStub();
+    if (stub != null) return StringUtil.notNullize(stub.getName());
     ErlangQAtom atom = o.getQAtom();
     return atom == null ? "" : atom.getText();
   }
@@ -636,23 +741,32 @@ public class ErlangPsiImplUtil {
     return o.getQAtom().getTextOffset();
   }
 
+  /**
+   * A comprehension declares only the variables of its qualifier patterns.
+   */
   @SuppressWarnings("UnusedParameters")
   public static boolean processDeclarations(@NotNull ErlangListComprehension o, @NotNull PsiScopeProcessor processor, @NotNull ResolveState state, PsiElement lastParent, @NotNull PsiElement place) {
-    return processDeclarationRecursive(o, processor, state);
+    if (!processor.execute(o, state)) return false;
+    ErlangLcExprs lcExprs = o.getLcExprs();
+    if (lcExprs == null) return true;
+    for (ErlangLcExpression lcExpression : PsiTreeUtil.getChildrenOfTypeAsList(lcExprs, ErlangLcExpression.class)) {
+      for (ErlangQVar var : PsiTreeUtil.findChildrenOfType(lcExpression.getArgumentDefinition(), ErlangQVar.class)) {
+        if (!processor.execute(var, state)) return false;
+      }
+    }
+    return true;
   }
 
+  /**
+   * A <code>-module</code> attribute declares the parameters of a parameterized module, <code>-module(m, [A]).</code>
+   */
   @SuppressWarnings("UnusedParameters")
   public static boolean processDeclarations(@NotNull ErlangModule o, @NotNull PsiScopeProcessor processor, @NotNull ResolveState state, PsiElement lastParent, @NotNull PsiElement place) {
-    return processDeclarationRecursive(o, processor, state);
-  }
-
-  private static boolean processDeclarationRecursive(ErlangCompositeElement o, PsiScopeProcessor processor, ResolveState state) {
-    Queue<ErlangCompositeElement> queue = new LinkedList<ErlangCompositeElement>();
-    queue.add(o);
-    while (!queue.isEmpty()) {
-      ErlangCompositeElement top = queue.remove();
-      if (!processor.execute(top, state)) return false;
-      queue.addAll(PsiTreeUtil.getChildrenOfTypeAsList(top, ErlangCompositeElement.class));
+    if (!processor.execute(o, state)) return false;
+    ErlangArgumentDefinition parameters = o.getArgumentDefinition();
+    if (parameters == null) return true;
+    for (ErlangQVar var : PsiTreeUtil.findChildrenOfType(parameters, ErlangQVar.class)) {
+      if (!processor.execute(var, state)) return false;
     }
     return true;
   }
@@ -660,8 +774,7 @@ public class ErlangPsiImplUtil {
   @Nullable
   public static ErlangModule getModule(PsiFile file) {
     if (file instanceof ErlangFile) {
-      List<ErlangAttribute> attributes = PsiTreeUtil.getChildrenOfTypeAsList(file, ErlangAttribute.class);
-      for (ErlangAttribute attribute : attributes) {
+      for (ErlangAttribute attribute : ((ErlangFile) file).getAttributes()) {
         ErlangModule module = attribute.getModule();
         if (module != null) {
           return module;
@@ -671,125 +784,69 @@ public class ErlangPsiImplUtil {
     return null;
   }
 
-  static boolean isInModule(PsiElement psiElement) {
-    return PsiTreeUtil.getParentOfType(psiElement, ErlangModule.class) != null;
-  }
-
   @NotNull
-  static List<ErlangRecordDefinition> getErlangRecordFromIncludes(@NotNull ErlangFile containingFile, boolean forCompletion, String name) {
+  static List<ErlangRecordDefinition> getErlangRecordFromIncludes(@NotNull ErlangFile containingFile, @NotNull String name) {
     List<ErlangRecordDefinition> fromIncludes = new ArrayList<ErlangRecordDefinition>();
-    for (ErlangInclude include : containingFile.getIncludes()) {
-      List<ErlangFile> files = filesFromInclude(include);
-      for (ErlangFile file : files) {
-        if (!forCompletion) {
-          ErlangRecordDefinition recordFromIncludeFile = file.getRecord(name);
-          fromIncludes.addAll(recordFromIncludeFile == null ? ContainerUtil.<ErlangRecordDefinition>emptyList() : ContainerUtil.list(recordFromIncludeFile));
-        }
-        else {
-          fromIncludes.addAll(file.getRecords());
-        }
-      }
+    List<ErlangFile> files = ErlangIndexUtil.getFilesWithKey(ErlangRecordIndex.ERLANG_RECORD_INDEX, name, containingFile.getProject(), getIncludedFiles(containingFile));
+    for (ErlangFile file : files) {
+      ContainerUtil.addIfNotNull(fromIncludes, file.getRecord(name));
     }
     return fromIncludes;
   }
 
+  @NotNull
+  static List<ErlangFile> getIncludedFiles(@NotNull ErlangFile containingFile) {
+    return ErlangIncludeCache.getInstance(containingFile.getProject()).getIncludedFiles(containingFile);
+  }
+
   @NotNull
   static List<ErlangFile> filesFromInclude(@NotNull ErlangInclude include) {
-    return filesFromIncludeInner(include, new HashSet<ErlangFile>());
+    List<ErlangFile> directlyIncluded = getDirectlyIncludedFiles(include);
+    Set<ErlangFile> result = new LinkedHashSet<ErlangFile>(directlyIncluded);
+    for (ErlangFile file : directlyIncluded) {
+      result.addAll(getIncludedFiles(file));
+    }
+    return new ArrayList<ErlangFile>(result);
   }
 
   @NotNull
-  private static List<ErlangFile> filesFromIncludeInner(@NotNull ErlangInclude include, Set<ErlangFile> alreadyAdded) {
+  public static List<ErlangFile> getDirectlyIncludedFiles(@NotNull ErlangInclude include) {
     PsiElement string = include.getIncludeString();
-    PsiFile containingFile = include.getContainingFile();
+    if (string == null) return Collections.emptyList();
 
-    if (string != null) {
-      String includeFilePath = string.getText().replaceAll("\"", "");
-      List<ErlangFile> result = new ArrayList<ErlangFile>();
-      List<ErlangFile> concat = ContainerUtil.concat(justAppend(containingFile, includeFilePath), findByWildCard(containingFile, includeFilePath));
-      int beforeSize = alreadyAdded.size();
-      for (ErlangFile erlangFile : concat) {
-        if (!alreadyAdded.contains(erlangFile)) {
-          result.add(erlangFile);
-          alreadyAdded.add(erlangFile);
-        }
-      }
-      if (beforeSize == alreadyAdded.size()) return result;
-      for (ErlangFile erlangFile : concat) {
-        for (ErlangInclude i : erlangFile.getIncludes()) {
-          List<ErlangFile> erlangFiles = filesFromIncludeInner(i, alreadyAdded);
-          result.addAll(erlangFiles);
-        }
-      }
-      return result;
+    PsiFile containingFile = include.getContainingFile();
+    String includeFilePath = string.getText().replaceAll("\"", "");
+    Project project = containingFile.getProject();
+    List<ErlangFile> byPath = ErlangIncludePathIndex.getFilesByPath(project, includeFilePath, getModuleWithDependenciesScope(containingFile));
+    GlobalSearchScope fallbackScope = byPath.isEmpty() ? getFallbackScope(containingFile) : null;
+    if (fallbackScope != null) {
+      byPath = ErlangIncludePathIndex.getFilesByPath(project, includeFilePath, fallbackScope);
     }
-    return Collections.emptyList();
+    Set<ErlangFile> result = new LinkedHashSet<ErlangFile>(justAppend(containingFile, includeFilePath));
+    result.addAll(byPath);
+    return new ArrayList<ErlangFile>(result);
   }
 
   @NotNull
-  static List<ErlangMacrosDefinition> getErlangMacrosesFromIncludes(@NotNull ErlangFile containingFile, boolean forCompletion, String name) {
+  static List<ErlangMacrosDefinition> getErlangMacrosesFromIncludes(@NotNull ErlangFile containingFile, @NotNull String name) {
     List<ErlangMacrosDefinition> fromIncludes = new ArrayList<ErlangMacrosDefinition>();
-    for (ErlangInclude include : containingFile.getIncludes()) {
-      List<ErlangFile> files = filesFromInclude(include);
-      for (ErlangFile file : files) {
-        if (!forCompletion) {
-          ErlangMacrosDefinition recordFromIncludeFile = file.getMacros(name);
-          fromIncludes.addAll(recordFromIncludeFile == null ? ContainerUtil.<ErlangMacrosDefinition>emptyList() : ContainerUtil.list(recordFromIncludeFile));
-        }
-        else {
-          fromIncludes.addAll(file.getMacroses());
-        }
-      }
+    List<ErlangFile> files = ErlangIndexUtil.getFilesWithKey(ErlangMacrosIndex.ERLANG_MACROS_INDEX, name, containingFile.getProject(), getIncludedFiles(containingFile));
+    for (ErlangFile file : files) {
+      ContainerUtil.addIfNotNull(fromIncludes, file.getMacros(name));
     }
     return fromIncludes;
   }
   
   @NotNull
-  static List<ErlangTypeDefinition> getErlangTypeFromIncludes(@NotNull ErlangFile containingFile, boolean forCompletion, String name) {
+  static List<ErlangTypeDefinition> getErlangTypeFromIncludes(@NotNull ErlangFile containingFile, @NotNull String name) {
     List<ErlangTypeDefinition> fromIncludes = new ArrayList<ErlangTypeDefinition>();
-    for (ErlangInclude include : containingFile.getIncludes()) {
-      List<ErlangFile> files = filesFromInclude(include);
-      for (ErlangFile file : files) {
-        if (!forCompletion) {
-          ErlangTypeDefinition recordFromIncludeFile = file.getType(name);
-          fromIncludes.addAll(recordFromIncludeFile == null ? ContainerUtil.<ErlangTypeDefinition>emptyList() : ContainerUtil.list(recordFromIncludeFile));
-        }
-        else {
-          fromIncludes.addAll(file.getTypes());
-        }
-      }
+    List<ErlangFile> files = ErlangIndexUtil.getFilesWithKey(ErlangTypeIndex.ERLANG_TYPE_INDEX, name, containingFile.getProject(), getIncludedFiles(containingFile));
+    for (ErlangFile file : files) {
+      ContainerUtil.addIfNotNull(fromIncludes, file.getType(name));
     }
     return fromIncludes;
   }
 
-  @NotNull
-  private static List<ErlangFile> findByWildCard(@NotNull PsiFile containingFile, @NotNull final String includeFilePath) {
-    List<ErlangFile> erlangFiles = new ArrayList<ErlangFile>();
-    List<String> split = StringUtil.split(includeFilePath, "/");
-    String last = ContainerUtil.iterateAndGetLastItem(split);
-    if (last != null) {
-      PsiFile[] filesByName = FilenameIndex.getFilesByName(containingFile.getProject(), last,
-        GlobalSearchScope.getScopeRestrictedByFileTypes(GlobalSearchScope.allScope(containingFile.getProject()), ErlangFileType.HEADER, ErlangFileType.MODULE));
-      List<PsiFile> filter = ContainerUtil.filter(filesByName, new Condition<PsiFile>() {
-        @Override
-        public boolean value(PsiFile psiFile) {
-          VirtualFile virtualFile = psiFile.getVirtualFile();
-          if (virtualFile == null) return false;
-          String canonicalPath = virtualFile.getCanonicalPath();
-          if (canonicalPath == null) return false;
-          return canonicalPath.replaceAll("-[\\d\\.\\w-]+/", "/").endsWith(includeFilePath);
-        }
-      });
-
-      for (PsiFile file : filter) {
-        if (file instanceof ErlangFile) {
-          erlangFiles.add((ErlangFile) file);
-        }
-      }
-    }
-    return erlangFiles;
-  }
-
   @NotNull
   public static List<ErlangFile> justAppend(@NotNull PsiFile containingFile, @NotNull String includeFilePath) {
     List<ErlangFile> erlangFiles = new ArrayList<ErlangFile>();
@@ -831,6 +888,8 @@ public class ErlangPsiImplUtil {
   }
 
   public static String getName(ErlangMacrosDefinition o) {
+    ErlangMacrosDefinitionStub stub = o.getStub();
+    if (stub != null) return StringUtil.notNullize(stub.getName());
     return o.getNameIdentifier().getText();
   }
 
@@ -843,23 +902,13 @@ public class ErlangPsiImplUtil {
   }
 
   public static String getName(ErlangBehaviour o) {
+    ErlangBehaviourStub stub = o.getStub();
+    if (stub != null) return stub.getName();
     ErlangModuleRef moduleRef = o.getModuleRef();
     ErlangQAtom atom = moduleRef != null ? moduleRef.getQAtom() : null;
     return atom == null ? "" : atom.getText();
   }
 
-  @NotNull
-  public static List<ErlangFunction> getExternalFunctionForCompletion(@NotNull Project project, @NotNull String moduleFileName) {
-    PsiFile[] files = FilenameIndex.getFilesByName(project, moduleFileName, GlobalSearchScope.allScope(project));
-    List<ErlangFunction> result = new ArrayList<ErlangFunction>();
-    for (PsiFile file : files) {
-      if (file instanceof ErlangFile) {
-        result.addAll(((ErlangFile) file).getExportedFunctions());
-      }
-    }
-    return result;
-  }
-
   public static boolean inFunction(PsiElement position) {
     return PsiTreeUtil.getParentOfType(position, ErlangFunction.class) != null;
   }
@@ -944,8 +993,42 @@ public class ErlangPsiImplUtil {
     return ErlangIcons.FUNCTION;
   }
 
-  public static boolean isRecursiveCall(PsiElement element, ErlangFunction function) {
-    return Comparing.equal(PsiTreeUtil.getParentOfType(element, ErlangFunction.class), function);
+  /**
+   * Scope of the module (a rebar app after import) containing the element, its module dependencies and libraries.
+   * Elements outside of any module, e.g. SDK sources, get the whole project scope.
+   * Lookups which find nothing there are retried in {@link #getFallbackScope}.
+   */
+  @NotNull
+  public static GlobalSearchScope getModuleWithDependenciesScope(@NotNull PsiElement element) {
+    Module module = findModule(element);
+    return module != null ? GlobalSearchScope.moduleWithDependenciesAndLibrariesScope(module) : GlobalSearchScope.allScope(element.getProject());
+  }
+
+  /**
+   * Whole project scope for a lookup which found nothing in {@link #getModuleWithDependenciesScope}: apps of an umbrella
+   * project may call each other while declaring the dependency only in <code>.app.src</code>, which rebar import does not
+   * turn into module dependencies.
+   *
+   * @return null if the element is outside of any module, so its dependencies scope is already the whole project
+   */
+  @Nullable
+  public static GlobalSearchScope getFallbackScope(@NotNull PsiElement element) {
+    return findModule(element) != null ? GlobalSearchScope.allScope(element.getProject()) : null;
+  }
+
+  /**
+   * Scope of the module containing the element and of the modules depending on it, i.e. where the element can be used from.
+   */
+  @NotNull
+  public static GlobalSearchScope getModuleWithDependentsScope(@NotNull PsiElement element) {
+    Module module = findModule(element);
+    return module != null ? GlobalSearchScope.moduleWithDependentsScope(module) : GlobalSearchScope.allScope(element.getProject());
+  }
+
+  @Nullable
+  private static Module findModule(@NotNull PsiElement element) {
+    PsiFile file = element.getContainingFile();
+    return ModuleUtil.findModuleForPsiElement(file != null ? file.getOriginalFile() : element); // completion works on a copy
   }
 
   public static boolean isEunitTestFile(ErlangFile file) {
@@ -976,8 +1059,22 @@ public class ErlangPsiImplUtil {
     return ResolveScopeManager.getElementUseScope(o);
   }
 
+  @NotNull
+  public static SearchScope getUseScope(@NotNull ErlangFunction o) {
+    SearchScope elementUseScope = ResolveScopeManager.getElementUseScope(o);
+    Project project = o.getProject();
+    VirtualFile virtualFile = o.getContainingFile().getVirtualFile();
+    if (virtualFile == null || DumbService.isDumb(project) || !(elementUseScope instanceof GlobalSearchScope)) return elementUseScope;
+
+    List<VirtualFile> files = new ArrayList<VirtualFile>(ErlangCallIndex.getCallerFiles(project, o, (GlobalSearchScope) elementUseScope));
+    files.add(virtualFile);
+    return GlobalSearchScope.filesScope(project, files);
+  }
+
   @NotNull
   public static String getName(ErlangTypeDefinition o) {
+    ErlangTypeDefinitionStub stub = o.getStub();
+    if (stub != null) return StringUtil.notNullize(stub.getName());
     return o.getNameIdentifier().getText();
   }
 
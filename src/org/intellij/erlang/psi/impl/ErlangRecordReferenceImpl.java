@@ -43,7 +43,7 @@ public class ErlangRecordReferenceImpl<T extends ErlangQAtom> extends ErlangAtom
       ErlangRecordDefinition record = ((ErlangFile) containingFile).getRecord(myReferenceName);
       if (record != null) return record;
 
-      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangRecordFromIncludes((ErlangFile) containingFile, false, myReferenceName));
+      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangRecordFromIncludes((ErlangFile) containingFile, myReferenceName));
     }
     return null;
   }
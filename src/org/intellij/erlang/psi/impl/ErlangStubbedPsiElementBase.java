@@ -0,0 +1,81 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.psi.impl;
+
+import com.intellij.extapi.psi.StubBasedPsiElementBase;
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.ResolveState;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.scope.PsiScopeProcessor;
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.IncorrectOperationException;
+import org.intellij.erlang.psi.*;
+import org.jetbrains.annotations.NotNull;
+
+import static org.intellij.erlang.ErlangTypes.ERL_DOT;
+
+/**
+ * @author ignatov
+ */
+public abstract class ErlangStubbedPsiElementBase<T extends StubElement> extends StubBasedPsiElementBase<T> implements ErlangCompositeElement {
+  public ErlangStubbedPsiElementBase(@NotNull T stub, @NotNull IStubElementType nodeType) {
+    super(stub, nodeType);
+  }
+
+  public ErlangStubbedPsiElementBase(@NotNull ASTNode node) {
+    super(node);
+  }
+
+  @Override
+  public PsiElement getParent() {
+    return getParentByStub();
+  }
+
+  @Override
+  public String toString() {
+    return getElementType().toString();
+  }
+
+  @Override
+  public boolean processDeclarations(@NotNull PsiScopeProcessor processor, @NotNull ResolveState state, PsiElement lastParent, @NotNull PsiElement place) {
+    if (!processor.execute(this, state)) {
+      return false;
+    }
+    else {
+      return ResolveUtil.processChildren(this, processor, state, lastParent, place);
+    }
+  }
+
+  @Override
+  public void delete() throws IncorrectOperationException { // todo: move to more appropriate place
+    if (!(this instanceof ErlangFunction)
+      && !(this instanceof ErlangRecordDefinition)
+      && !(this instanceof ErlangMacrosDefinition)
+      && !(this instanceof ErlangTypeDefinition)
+      ) {
+      return;
+    }
+
+    PsiElement nextSibling = getNextSibling();
+    if (nextSibling instanceof LeafPsiElement && nextSibling.getNode().getElementType() == ERL_DOT) {
+      nextSibling.delete();
+    }
+    super.delete();
+  }
+}
@@ -61,7 +61,7 @@ public class ErlangTypeReferenceImpl<T extends ErlangQAtom> extends ErlangAtomBa
     if (containingFile instanceof ErlangFile) {
       ErlangTypeDefinition type = ((ErlangFile) containingFile).getType(myReferenceName);
       if (type != null) return type;
-      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangTypeFromIncludes((ErlangFile) containingFile, false, myReferenceName));
+      return ContainerUtil.getFirstItem(ErlangPsiImplUtil.getErlangTypeFromIncludes((ErlangFile) containingFile, myReferenceName));
     }
     return null;
   }
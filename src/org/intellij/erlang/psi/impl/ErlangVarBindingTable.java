@@ -0,0 +1,215 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.psi.impl;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.*;
+import gnu.trove.THashMap;
+import gnu.trove.THashSet;
+import org.intellij.erlang.psi.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.*;
+
+/**
+ * Variable bindings of a function clause, built in one walk over the clause in text order and cached on it.
+ * Specs, callbacks, type and macro definitions get a table too; there every occurrence is a binding position,
+ * so a variable refers to its first occurrence within the form.
+ * <p/>
+ * The first occurrence of a variable in a binding position (argument, pattern, left or right side of a match)
+ * binds it, later occurrences in the same or a nested scope resolve to that binding. Bindings made inside
+ * a <code>case</code>, <code>if</code>, <code>receive</code> or <code>try</code> stay visible after it.
+ * Funs and comprehensions open their own scope: fun arguments and generator patterns shadow outer variables,
+ * and nothing bound inside is visible outside. Comprehension qualifiers are walked before the template.
+ * The parameters of a parameterized module are bound in every function clause.
+ *
+ * @author ignatov
+ */
+public class ErlangVarBindingTable {
+  private static final Key<CachedValue<ErlangVarBindingTable>> BINDING_TABLE_KEY = Key.create("ERLANG_VAR_BINDING_TABLE");
+
+  private final Map<ErlangQVar, ErlangQVar> myResolved = new THashMap<ErlangQVar, ErlangQVar>();
+  private final Map<ErlangQVar, Scope> myScopes = new THashMap<ErlangQVar, Scope>();
+  private final Set<ErlangQVar> myUsedBindings = new THashSet<ErlangQVar>();
+  private final boolean myEveryOccurrenceBinds;
+
+  private ErlangVarBindingTable(@NotNull ErlangCompositeElement root) {
+    myEveryOccurrenceBinds = !(root instanceof ErlangFunctionClause);
+    walk(root, new Scope(myEveryOccurrenceBinds ? null : getModuleParameters(root), null), false);
+  }
+
+  /**
+   * The outermost scope of a function clause: the parameters of a parameterized module, <code>-module(m, [A]).</code>
+   */
+  @Nullable
+  private static Scope getModuleParameters(@NotNull ErlangCompositeElement root) {
+    ErlangModule module = getModule(root.getContainingFile());
+    ErlangArgumentDefinition parameters = module != null ? module.getArgumentDefinition() : null;
+    if (parameters == null) return null;
+    Scope scope = new Scope(null, module);
+    for (ErlangQVar parameter : PsiTreeUtil.findChildrenOfType(parameters, ErlangQVar.class)) {
+      if (!"_".equals(parameter.getText()) && !scope.myBindings.containsKey(parameter.getText())) {
+        scope.myBindings.put(parameter.getText(), parameter);
+      }
+    }
+    return scope;
+  }
+
+  @NotNull
+  public static ErlangVarBindingTable getInstance(@NotNull final ErlangCompositeElement root) {
+    return CachedValuesManager.getManager(root.getProject()).getCachedValue(root, BINDING_TABLE_KEY, new CachedValueProvider<ErlangVarBindingTable>() {
+      @Override
+      public Result<ErlangVarBindingTable> compute() {
+        return Result.create(new ErlangVarBindingTable(root), PsiModificationTracker.MODIFICATION_COUNT);
+      }
+    }, false);
+  }
+
+  /**
+   * The element whose table holds the variable: its function clause, or the spec, callback, type or macro definition
+   * it belongs to. Variables anywhere else cannot be bound; the parameters of a parameterized module are binding
+   * occurrences seeded into every clause table.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  public static ErlangCompositeElement getBindingRoot(@NotNull ErlangQVar var) {
+    ErlangFunctionClause clause = PsiTreeUtil.getTopmostParentOfType(var, ErlangFunctionClause.class);
+    if (clause != null) return clause;
+    return PsiTreeUtil.getParentOfType(var, ErlangSpecification.class, ErlangCallbackSpec.class, ErlangTypeDefinition.class, ErlangMacrosDefinition.class);
+  }
+
+  /**
+   * The binding occurrence the variable refers to, or null for binding occurrences and unbound variables.
+   */
+  @Nullable
+  public ErlangQVar getBinding(@NotNull ErlangQVar var) {
+    return myResolved.get(var);
+  }
+
+  /**
+   * Whether some other occurrence of the variable refers to this binding occurrence.
+   */
+  public boolean isUsed(@NotNull ErlangQVar binding) {
+    return myUsedBindings.contains(binding);
+  }
+
+  /**
+   * Bindings visible at the variable: those of its own and enclosing scopes, made before it or in an enclosing comprehension.
+   */
+  @NotNull
+  public List<ErlangQVar> getVisibleBindings(@NotNull ErlangQVar var) {
+    List<ErlangQVar> result = new ArrayList<ErlangQVar>();
+    Scope scope = myScopes.get(var);
+    Set<String> seen = new THashSet<String>();
+    int offset = var.getTextOffset();
+    for (; scope != null; scope = scope.myParent) {
+      for (ErlangQVar binding : scope.myBindings.values()) {
+        if (binding == var || !seen.add(binding.getText())) continue;
+        if (binding.getTextOffset() < offset || scope.myOwner instanceof ErlangListComprehension) {
+          result.add(binding);
+        }
+      }
+    }
+    return result;
+  }
+
+  private void walk(@NotNull PsiElement element, @NotNull Scope scope, boolean shadowing) {
+    if (element instanceof ErlangQVar) {
+      visitVar((ErlangQVar) element, scope, shadowing);
+    }
+    else if (element instanceof ErlangFunClause) {
+      Scope funScope = new Scope(scope, element);
+      for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+        walk(child, funScope, child instanceof ErlangArgumentDefinitionList);
+      }
+    }
+    else if (element instanceof ErlangListComprehension) {
+      Scope lcScope = new Scope(scope, element);
+      ErlangLcExprs lcExprs = ((ErlangListComprehension) element).getLcExprs();
+      if (lcExprs != null) {
+        walk(lcExprs, lcScope, false);
+      }
+      for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+        if (child != lcExprs) walk(child, lcScope, false);
+      }
+    }
+    else if (element instanceof ErlangLcExpression) {
+      ErlangLcExpression lcExpression = (ErlangLcExpression) element;
+      ErlangExpression generated = lcExpression.getExpression();
+      if (generated != null) {
+        walk(generated, scope, false);
+      }
+      ErlangArgumentDefinition pattern = lcExpression.getArgumentDefinition();
+      walk(pattern, scope, generated != null);
+    }
+    else {
+      for (PsiElement child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+        walk(child, scope, shadowing);
+      }
+    }
+  }
+
+  private void visitVar(@NotNull ErlangQVar var, @NotNull Scope scope, boolean shadowing) {
+    myScopes.put(var, scope);
+    String name = var.getText();
+    if ("_".equals(name)) return;
+    boolean bindingPosition = myEveryOccurrenceBinds || isBindingPosition(var);
+    ErlangQVar binding = bindingPosition && shadowing ? scope.myBindings.get(name) : scope.find(name);
+    if (binding != null) {
+      myResolved.put(var, binding);
+      myUsedBindings.add(binding);
+    }
+    else if (bindingPosition) {
+      scope.myBindings.put(name, var);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static boolean isBindingPosition(@NotNull ErlangQVar var) {
+    if (!inDefinition(var) && !inAssignment(var)) return false;
+    return !inArgumentList(var) || !(PsiTreeUtil.getParentOfType(var, ErlangArgumentList.class, ErlangAssignmentExpression.class) instanceof ErlangArgumentList);
+  }
+
+  private static class Scope {
+    @Nullable private final Scope myParent;
+    @Nullable private final PsiElement myOwner;
+    private final Map<String, ErlangQVar> myBindings = new LinkedHashMap<String, ErlangQVar>();
+
+    private Scope(@Nullable Scope parent, @Nullable PsiElement owner) {
+      myParent = parent;
+      myOwner = owner;
+    }
+
+    @Nullable
+    private ErlangQVar find(@NotNull String name) {
+      for (Scope scope = this; scope != null; scope = scope.myParent) {
+        ErlangQVar binding = scope.myBindings.get(name);
+        if (binding != null) return binding;
+      }
+      return null;
+    }
+  }
+}
@@ -1,71 +0,0 @@
-/*
- * Copyright 2012 Sergey Ignatov
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- * http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-
-package org.intellij.erlang.psi.impl;
-
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.ResolveState;
-import com.intellij.psi.scope.BaseScopeProcessor;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.containers.ContainerUtil;
-import org.intellij.erlang.psi.*;
-import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import static org.intellij.erlang.psi.impl.ErlangPsiImplUtil.*;
-
-/**
- * @author ignatov
- */
-public class ErlangVarProcessor extends BaseScopeProcessor {
-  private List<ErlangQVar> myVarList = new ArrayList<ErlangQVar>(0);
-  private final String myRequestedName;
-  private final PsiElement myOrigin;
-
-  public ErlangVarProcessor(String requestedName, PsiElement origin) {
-    myRequestedName = requestedName;
-    myOrigin = origin;
-  }
-
-  @Override
-  public boolean execute(@NotNull PsiElement psiElement, ResolveState resolveState) {
-    if (psiElement instanceof ErlangFunction) return false;
-    if (psiElement instanceof ErlangSpecification) return false;
-    ErlangFunctionClause clause = PsiTreeUtil.getTopmostParentOfType(myOrigin, ErlangFunctionClause.class);
-    ErlangSpecification spec = PsiTreeUtil.getTopmostParentOfType(myOrigin, ErlangSpecification.class);
-    if (!psiElement.equals(myOrigin) && psiElement instanceof ErlangQVar && psiElement.getText().equals(myRequestedName)) {
-      if (
-        (PsiTreeUtil.isAncestor(clause, psiElement, false) && (inDefinition(psiElement) || inAssignment(psiElement)))
-        || isInModule(psiElement)
-        || PsiTreeUtil.isAncestor(spec, psiElement, false)) {
-        //noinspection unchecked
-        if (inArgumentList(psiElement) && PsiTreeUtil.getParentOfType(psiElement, ErlangArgumentList.class, ErlangAssignmentExpression.class) instanceof ErlangArgumentList) return true;
-
-        myVarList.add(0, (ErlangQVar) psiElement); // put all possible variables to list
-        return true;
-      }
-    }
-    return true;
-  }
-
-  @Nullable
-  public ErlangQVar getResult() {
-    return ContainerUtil.getFirstItem(myVarList); // return the topmost one
-  }
-}
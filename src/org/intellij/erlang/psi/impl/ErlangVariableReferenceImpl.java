@@ -20,10 +20,7 @@ import com.intellij.codeInsight.lookup.LookupElement;
 import com.intellij.codeInsight.lookup.LookupElementBuilder;
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiNamedElement;
 import com.intellij.psi.PsiReferenceBase;
-import com.intellij.psi.ResolveState;
-import com.intellij.psi.scope.BaseScopeProcessor;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import com.intellij.util.IncorrectOperationException;
@@ -46,21 +43,10 @@ public class ErlangVariableReferenceImpl extends PsiReferenceBase<ErlangQVar> {
 
   @Override
   public PsiElement resolve() {
-    ErlangVarProcessor processor = new ErlangVarProcessor(myElement.getText(), myElement);
-    ErlangListComprehension lc = PsiTreeUtil.getParentOfType(myElement, ErlangListComprehension.class);
-    ErlangCompositeElement place = lc != null ? lc.getLcExprs() : myElement;
-    ResolveUtil.treeWalkUp(place, processor);
-    ErlangQVar result = processor.getResult();
-    if (result != null) return result;
-
-    ErlangModule module = getModule(myElement.getContainingFile());
-    if (module == null) return null;
-    module.processDeclarations(processor, ResolveState.initial(), module, module);
-
-    return processor.getResult();
+    ErlangCompositeElement root = ErlangVarBindingTable.getBindingRoot(myElement);
+    return root != null ? ErlangVarBindingTable.getInstance(root).getBinding(myElement) : null;
   }
 
-
   @NotNull
   @Override
   public Object[] getVariants() {
@@ -68,19 +54,12 @@ public class ErlangVariableReferenceImpl extends PsiReferenceBase<ErlangQVar> {
 
     final List<LookupElement> result = new ArrayList<LookupElement>();
     if (!(myElement.getParent() instanceof ErlangRecordExpression)) {
-      final ErlangFunctionClause clause = PsiTreeUtil.getParentOfType(myElement, ErlangFunctionClause.class);
-      BaseScopeProcessor processor = new BaseScopeProcessor() {
-        @Override
-        public boolean execute(@NotNull PsiElement psiElement, ResolveState resolveState) {
-          if (!psiElement.equals(myElement) && psiElement instanceof ErlangQVar && !psiElement.getText().equals("_") && !inColonQualified(myElement)) {
-            if (PsiTreeUtil.isAncestor(clause, psiElement, false) && (inDefinition(psiElement) || inAssignment(psiElement))) {
-              result.add(LookupElementBuilder.create((PsiNamedElement) psiElement).withIcon(ErlangIcons.VARIABLE));
-            }
-          }
-          return true;
+      ErlangCompositeElement root = ErlangVarBindingTable.getBindingRoot(myElement);
+      if (root != null && !inColonQualified(myElement)) {
+        for (ErlangQVar binding : ErlangVarBindingTable.getInstance(root).getVisibleBindings(myElement)) {
+          result.add(LookupElementBuilder.create(binding).withIcon(ErlangIcons.VARIABLE));
         }
-      };
-      ResolveUtil.treeWalkUp(myElement, processor);
+      }
 
       result.addAll(ErlangPsiImplUtil.getFunctionLookupElements(myElement.getContainingFile(), false, PsiTreeUtil.getParentOfType(myElement, ErlangColonQualifiedExpression.class)));
     }
@@ -19,6 +19,11 @@ package org.intellij.erlang.sdk;
 import org.jetbrains.annotations.NotNull;
 
 public enum ErlangSdkRelease {
+  R16B03("5.10.4"),
+  R16B02("5.10.3"),
+  R16B01("5.10.2"),
+  R16B("5.10.1"),
+  R16A("5.10"),
   R15B03("5.9.3"),
   R15B02("5.9.2"),
   R15B01("5.9.1"),
@@ -47,4 +52,11 @@ public enum ErlangSdkRelease {
   public String getVersion() {
     return myVersion;
   }
+
+  /**
+   * Whether this release is the same as or newer than the given one.
+   */
+  public boolean isAtLeast(@NotNull ErlangSdkRelease release) {
+    return ordinal() <= release.ordinal();
+  }
 }
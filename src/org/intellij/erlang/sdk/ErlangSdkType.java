@@ -19,15 +19,26 @@ package org.intellij.erlang.sdk;
 import com.google.common.annotations.VisibleForTesting;
 import com.intellij.execution.ExecutionException;
 import com.intellij.execution.process.ProcessOutput;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleUtil;
+import com.intellij.openapi.project.Project;
 import com.intellij.openapi.projectRoots.*;
 import com.intellij.openapi.projectRoots.impl.ProjectJdkImpl;
 import com.intellij.openapi.roots.JavadocOrderRootType;
+import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.OrderRootType;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.UserDataHolder;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
 import com.intellij.util.containers.ContainerUtil;
 import org.intellij.erlang.ErlangIcons;
 import org.intellij.erlang.jps.model.JpsErlangModelSerializerExtension;
@@ -45,6 +56,7 @@ import java.util.regex.Pattern;
  * @author ignatov
  */
 public class ErlangSdkType extends SdkType {
+  private static final Key<CachedValue<ErlangSdkRelease>> RELEASE_KEY = Key.create("ERLANG_SDK_RELEASE");
 
   @NotNull
   public static ErlangSdkType getInstance() {
@@ -158,9 +170,41 @@ public class ErlangSdkType extends SdkType {
   }
 
   @Nullable
-  private static ErlangSdkRelease getRelease(@NotNull final Sdk sdk) {
+  public static ErlangSdkRelease getRelease(@NotNull final Sdk sdk) {
     final String versionString = sdk.getVersionString();
-    return versionString == null ? null : ErlangSdkRelease.valueOf(versionString);
+    if (versionString == null) return null;
+    try {
+      return ErlangSdkRelease.valueOf(versionString);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Release of the Erlang SDK of the module containing the element, falling back to the project SDK.
+   * The result is cached on the module, or on the project for elements outside of modules, until the roots change.
+   */
+  @Nullable
+  public static ErlangSdkRelease getRelease(@NotNull final PsiElement element) {
+    final Project project = element.getProject();
+    final Module module = ModuleUtil.findModuleForPsiElement(element);
+    UserDataHolder holder = module != null ? module : project;
+    return CachedValuesManager.getManager(project).getCachedValue(holder, RELEASE_KEY, new CachedValueProvider<ErlangSdkRelease>() {
+      @Nullable
+      @Override
+      public Result<ErlangSdkRelease> compute() {
+        return Result.create(computeRelease(project, module), ProjectRootManager.getInstance(project));
+      }
+    }, false);
+  }
+
+  @Nullable
+  private static ErlangSdkRelease computeRelease(@NotNull Project project, @Nullable Module module) {
+    Sdk sdk = module != null ? ModuleRootManager.getInstance(module).getSdk() : null;
+    if (sdk == null) {
+      sdk = ProjectRootManager.getInstance(project).getProjectSdk();
+    }
+    return sdk != null && sdk.getSdkType() instanceof ErlangSdkType ? getRelease(sdk) : null;
   }
 
   @Nullable
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs;
+
+import com.intellij.psi.tree.IElementType;
+import org.intellij.erlang.stubs.types.*;
+
+/**
+ * @author ignatov
+ */
+public class ErlangElementTypeFactory {
+  private ErlangElementTypeFactory() {
+  }
+
+  public static IElementType factory(String name) {
+    if (name.equals("ERL_FUNCTION")) return new ErlangFunctionStubElementType(name);
+    if (name.equals("ERL_RECORD_DEFINITION")) return new ErlangRecordDefinitionStubElementType(name);
+    if (name.equals("ERL_MACROS_DEFINITION")) return new ErlangMacrosDefinitionStubElementType(name);
+    if (name.equals("ERL_TYPE_DEFINITION")) return new ErlangTypeDefinitionStubElementType(name);
+    if (name.equals("ERL_INCLUDE")) return new ErlangIncludeStubElementType(name);
+    if (name.equals("ERL_ATTRIBUTE")) return new ErlangAttributeStubElementType(name);
+    if (name.equals("ERL_EXPORT")) return new ErlangExportStubElementType(name);
+    if (name.equals("ERL_EXPORT_FUNCTIONS")) return new ErlangExportFunctionsStubElementType(name);
+    if (name.equals("ERL_EXPORT_FUNCTION")) return new ErlangExportFunctionStubElementType(name);
+    if (name.equals("ERL_BEHAVIOUR")) return new ErlangBehaviourStubElementType(name);
+    if (name.equals("ERL_MODULE")) return new ErlangModuleStubElementType(name);
+    throw new RuntimeException("Unknown element type: " + name);
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs;
+
+import com.intellij.psi.stubs.PsiFileStubImpl;
+import com.intellij.psi.tree.IStubFileElementType;
+import org.intellij.erlang.psi.ErlangFile;
+
+/**
+ * @author ignatov
+ */
+public class ErlangFileStub extends PsiFileStubImpl<ErlangFile> {
+  public ErlangFileStub(ErlangFile file) {
+    super(file);
+  }
+
+  @Override
+  public IStubFileElementType getType() {
+    return ErlangFileElementType.INSTANCE;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs;
+
+import com.intellij.psi.stubs.IStubElementType;
+import com.intellij.psi.stubs.StubBase;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.util.io.StringRef;
+import org.intellij.erlang.psi.ErlangInclude;
+
+/**
+ * @author ignatov
+ */
+public class ErlangIncludeStub extends StubBase<ErlangInclude> {
+  private final boolean myIncludeLib;
+  private final StringRef myIncludePath;
+
+  public ErlangIncludeStub(StubElement parent, IStubElementType elementType, boolean includeLib, StringRef includePath) {
+    super(parent, elementType);
+    myIncludeLib = includeLib;
+    myIncludePath = includePath;
+  }
+
+  public ErlangIncludeStub(StubElement parent, IStubElementType elementType, boolean includeLib, String includePath) {
+    this(parent, elementType, includeLib, StringRef.fromString(includePath));
+  }
+
+  public boolean isIncludeLib() {
+    return myIncludeLib;
+  }
+
+  /**
+   * Unquoted text of the include string, e.g. <code>eunit/include/eunit.hrl</code>.
+   */
+  public String getIncludePath() {
+    return myIncludePath.getString();
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.stubs.StringStubIndexExtension;
+import com.intellij.psi.stubs.StubIndex;
+import com.intellij.psi.stubs.StubIndexKey;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangModule;
+import org.intellij.erlang.stubs.ErlangFileElementType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maps the name from the <code>-module(...)</code> attribute to the module declaration.
+ *
+ * @author ignatov
+ */
+public class ErlangModuleIndex extends StringStubIndexExtension<ErlangModule> {
+  public static final StubIndexKey<String, ErlangModule> KEY = StubIndexKey.createIndexKey("erlang.module");
+
+  @Override
+  public int getVersion() {
+    return ErlangFileElementType.VERSION;
+  }
+
+  @NotNull
+  @Override
+  public StubIndexKey<String, ErlangModule> getKey() {
+    return KEY;
+  }
+
+  @NotNull
+  public static Collection<String> getNames(@NotNull Project project) {
+    return StubIndex.getInstance().getAllKeys(KEY, project);
+  }
+
+  @NotNull
+  public static Collection<ErlangModule> getModulesByName(@NotNull Project project, @NotNull String name, @NotNull GlobalSearchScope searchScope) {
+    return StubIndex.getInstance().get(KEY, StringUtil.unquoteString(name), project, searchScope);
+  }
+
+  @NotNull
+  public static List<ErlangFile> getFilesByName(@NotNull Project project, @NotNull String name, @NotNull GlobalSearchScope searchScope) {
+    List<ErlangFile> result = new ArrayList<ErlangFile>();
+    for (ErlangModule module : getModulesByName(project, name, searchScope)) {
+      PsiFile file = module.getContainingFile();
+      if (file instanceof ErlangFile) {
+        result.add((ErlangFile) file);
+      }
+    }
+    return result;
+  }
+}
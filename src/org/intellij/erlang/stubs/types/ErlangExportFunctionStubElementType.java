@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.psi.ErlangExportFunction;
+import org.intellij.erlang.psi.impl.ErlangExportFunctionImpl;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.intellij.erlang.stubs.ErlangExportFunctionStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangExportFunctionStubElementType extends ErlangStubElementType<ErlangExportFunctionStub, ErlangExportFunction> {
+  public ErlangExportFunctionStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangExportFunction createPsi(@NotNull ErlangExportFunctionStub stub) {
+    return new ErlangExportFunctionImpl(stub, this);
+  }
+
+  @Override
+  public ErlangExportFunctionStub createStub(@NotNull ErlangExportFunction psi, StubElement parentStub) {
+    return new ErlangExportFunctionStub(parentStub, this, psi.getQAtom().getText(), ErlangPsiImplUtil.getArity(psi.getInteger()));
+  }
+
+  @Override
+  public void serialize(ErlangExportFunctionStub stub, StubOutputStream dataStream) throws IOException {
+    dataStream.writeName(stub.getName());
+    dataStream.writeVarInt(stub.getArity());
+  }
+
+  @Override
+  public ErlangExportFunctionStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    return new ErlangExportFunctionStub(parentStub, this, dataStream.readName(), dataStream.readVarInt());
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.psi.ErlangExportFunctions;
+import org.intellij.erlang.psi.impl.ErlangExportFunctionsImpl;
+import org.intellij.erlang.stubs.ErlangExportFunctionsStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangExportFunctionsStubElementType extends ErlangStubElementType<ErlangExportFunctionsStub, ErlangExportFunctions> {
+  public ErlangExportFunctionsStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangExportFunctions createPsi(@NotNull ErlangExportFunctionsStub stub) {
+    return new ErlangExportFunctionsImpl(stub, this);
+  }
+
+  @Override
+  public ErlangExportFunctionsStub createStub(@NotNull ErlangExportFunctions psi, StubElement parentStub) {
+    return new ErlangExportFunctionsStub(parentStub, this);
+  }
+
+  @Override
+  public void serialize(ErlangExportFunctionsStub stub, StubOutputStream dataStream) throws IOException {
+  }
+
+  @Override
+  public ErlangExportFunctionsStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    return new ErlangExportFunctionsStub(parentStub, this);
+  }
+}
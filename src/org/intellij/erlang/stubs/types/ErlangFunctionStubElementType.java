@@ -0,0 +1,57 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.psi.ErlangFunction;
+import org.intellij.erlang.psi.impl.ErlangFunctionImpl;
+import org.intellij.erlang.stubs.ErlangFunctionStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangFunctionStubElementType extends ErlangStubElementType<ErlangFunctionStub, ErlangFunction> {
+  public ErlangFunctionStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangFunction createPsi(@NotNull ErlangFunctionStub stub) {
+    return new ErlangFunctionImpl(stub, this);
+  }
+
+  @Override
+  public ErlangFunctionStub createStub(@NotNull ErlangFunction psi, StubElement parentStub) {
+    return new ErlangFunctionStub(parentStub, this, psi.getName(), psi.getArity());
+  }
+
+  @Override
+  public void serialize(ErlangFunctionStub stub, StubOutputStream dataStream) throws IOException {
+    dataStream.writeName(stub.getName());
+    dataStream.writeVarInt(stub.getArity());
+  }
+
+  @Override
+  public ErlangFunctionStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    return new ErlangFunctionStub(parentStub, this, dataStream.readName(), dataStream.readVarInt());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.ErlangTypes;
+import org.intellij.erlang.psi.ErlangInclude;
+import org.intellij.erlang.psi.ErlangIncludeString;
+import org.intellij.erlang.psi.impl.ErlangIncludeImpl;
+import org.intellij.erlang.stubs.ErlangIncludeStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangIncludeStubElementType extends ErlangStubElementType<ErlangIncludeStub, ErlangInclude> {
+  public ErlangIncludeStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangInclude createPsi(@NotNull ErlangIncludeStub stub) {
+    return new ErlangIncludeImpl(stub, this);
+  }
+
+  @Override
+  public ErlangIncludeStub createStub(@NotNull ErlangInclude psi, StubElement parentStub) {
+    ASTNode keyword = psi.getNode().findChildByType(ErlangTypes.ERL_ATOM);
+    boolean includeLib = keyword != null && "include_lib".equals(keyword.getText());
+    ErlangIncludeString includeString = psi.getIncludeString();
+    String path = includeString == null ? "" : StringUtil.unquoteString(includeString.getText());
+    return new ErlangIncludeStub(parentStub, this, includeLib, path);
+  }
+
+  @Override
+  public void serialize(ErlangIncludeStub stub, StubOutputStream dataStream) throws IOException {
+    dataStream.writeBoolean(stub.isIncludeLib());
+    dataStream.writeName(stub.getIncludePath());
+  }
+
+  @Override
+  public ErlangIncludeStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    boolean includeLib = dataStream.readBoolean();
+    return new ErlangIncludeStub(parentStub, this, includeLib, dataStream.readName());
+  }
+}
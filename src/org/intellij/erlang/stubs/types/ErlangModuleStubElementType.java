@@ -0,0 +1,67 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.stubs.IndexSink;
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.psi.ErlangModule;
+import org.intellij.erlang.psi.impl.ErlangModuleImpl;
+import org.intellij.erlang.stubs.ErlangModuleStub;
+import org.intellij.erlang.stubs.index.ErlangModuleIndex;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangModuleStubElementType extends ErlangStubElementType<ErlangModuleStub, ErlangModule> {
+  public ErlangModuleStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangModule createPsi(@NotNull ErlangModuleStub stub) {
+    return new ErlangModuleImpl(stub, this);
+  }
+
+  @Override
+  public ErlangModuleStub createStub(@NotNull ErlangModule psi, StubElement parentStub) {
+    return new ErlangModuleStub(parentStub, this, psi.getName());
+  }
+
+  @Override
+  public void serialize(ErlangModuleStub stub, StubOutputStream dataStream) throws IOException {
+    dataStream.writeName(stub.getName());
+  }
+
+  @Override
+  public ErlangModuleStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    return new ErlangModuleStub(parentStub, this, dataStream.readName());
+  }
+
+  @Override
+  public void indexStub(ErlangModuleStub stub, IndexSink sink) {
+    String name = stub.getName();
+    if (StringUtil.isNotEmpty(name)) {
+      sink.occurrence(ErlangModuleIndex.KEY, StringUtil.unquoteString(name));
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.stubs.types;
+
+import com.intellij.psi.stubs.StubElement;
+import com.intellij.psi.stubs.StubInputStream;
+import com.intellij.psi.stubs.StubOutputStream;
+import org.intellij.erlang.psi.ErlangTypeDefinition;
+import org.intellij.erlang.psi.impl.ErlangPsiImplUtil;
+import org.intellij.erlang.psi.impl.ErlangTypeDefinitionImpl;
+import org.intellij.erlang.stubs.ErlangTypeDefinitionStub;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * @author ignatov
+ */
+public class ErlangTypeDefinitionStubElementType extends ErlangStubElementType<ErlangTypeDefinitionStub, ErlangTypeDefinition> {
+  public ErlangTypeDefinitionStubElementType(String name) {
+    super(name);
+  }
+
+  @Override
+  public ErlangTypeDefinition createPsi(@NotNull ErlangTypeDefinitionStub stub) {
+    return new ErlangTypeDefinitionImpl(stub, this);
+  }
+
+  @Override
+  public ErlangTypeDefinitionStub createStub(@NotNull ErlangTypeDefinition psi, StubElement parentStub) {
+    return new ErlangTypeDefinitionStub(parentStub, this, psi.getName(), ErlangPsiImplUtil.calculateTypeArity(psi));
+  }
+
+  @Override
+  public void serialize(ErlangTypeDefinitionStub stub, StubOutputStream dataStream) throws IOException {
+    dataStream.writeName(stub.getName());
+    dataStream.writeVarInt(stub.getArity());
+  }
+
+  @Override
+  public ErlangTypeDefinitionStub deserialize(StubInputStream dataStream, StubElement parentStub) throws IOException {
+    return new ErlangTypeDefinitionStub(parentStub, this, dataStream.readName(), dataStream.readVarInt());
+  }
+}
@@ -0,0 +1,12 @@
+-export([funs_do_not_leak/1, generators_shadow/1, fun_arguments_shadow/1]).
+
+funs_do_not_leak(L) ->
+  F = fun(X) -> Y = X + 1, Y end,
+  {F(L), <error>Y</error>}.
+
+generators_shadow(X) ->
+  [X || X <- X].
+
+fun_arguments_shadow(X) ->
+  F = fun(X) -> X end,
+  F(X).
@@ -0,0 +1,10 @@
+-module(modparams, [Name, Count]).
+-export([name/0, repeat/1, counted/0]).
+
+name() -> Name.
+
+repeat(X) -> [{X, Count} || _ <- [Name]].
+
+counted() ->
+  F = fun() -> {Name, Count} end,
+  {F(), <error>Other</error>}.
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Minimal JMH-like harness: runs a body for warm-up iterations, then measures wall time
+ * and, when the JVM supports it, bytes allocated by the current thread.
+ *
+ * @author ignatov
+ */
+public class ErlangBenchmark {
+  public interface Body {
+    /**
+     * @return the number of units (tokens, nodes) processed by one run
+     */
+    long run() throws Exception;
+  }
+
+  public static class Result {
+    public final String name;
+    public final long units;
+    public final long nanos;
+    public final long allocatedBytes;
+    public final long sourceBytes;
+    public final int iterations;
+
+    Result(String name, long units, long nanos, long allocatedBytes, long sourceBytes, int iterations) {
+      this.name = name;
+      this.units = units;
+      this.nanos = nanos;
+      this.allocatedBytes = allocatedBytes;
+      this.sourceBytes = sourceBytes;
+      this.iterations = iterations;
+    }
+
+    public double getUnitsPerSecond() {
+      return nanos == 0 ? 0 : units * iterations * 1e9 / nanos;
+    }
+
+    /**
+     * @return allocated bytes per kilobyte of source, or -1 if allocation is not measurable on this JVM
+     */
+    public double getAllocatedPerKb() {
+      return allocatedBytes < 0 || sourceBytes == 0 ? -1 : allocatedBytes / (iterations * sourceBytes / 1024.0);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%-50s %12.0f units/s %12.0f B/KB %8d ms", name, getUnitsPerSecond(), getAllocatedPerKb(), nanos / 1000000);
+    }
+  }
+
+  private ErlangBenchmark() {
+  }
+
+  /**
+   * Benchmarks are skipped in the regular test run; pass <code>-Derlang.benchmarks=true</code> to run them.
+   */
+  public static boolean isEnabled() {
+    return Boolean.getBoolean("erlang.benchmarks");
+  }
+
+  @NotNull
+  public static Result measure(@NotNull String name, long sourceBytes, int warmUp, int iterations, @NotNull Body body) throws Exception {
+    long units = 0;
+    for (int i = 0; i < warmUp; i++) {
+      units = body.run();
+    }
+    long allocatedBefore = getAllocatedBytes();
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      units = body.run();
+    }
+    long nanos = System.nanoTime() - start;
+    long allocatedAfter = getAllocatedBytes();
+    long allocated = allocatedBefore < 0 || allocatedAfter < 0 ? -1 : allocatedAfter - allocatedBefore;
+    Result result = new Result(name, units, nanos, allocated, sourceBytes, iterations);
+    System.out.println(result);
+    return result;
+  }
+
+  private static long getAllocatedBytes() {
+    ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+      if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+        return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      }
+    }
+    return -1;
+  }
+}
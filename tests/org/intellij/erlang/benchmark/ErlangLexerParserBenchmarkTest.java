@@ -0,0 +1,154 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.benchmark;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.parser.ErlangLexer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lexer and parser throughput over the mock OTP sources and a synthetic 50k-line module.
+ * Prints tokens/s, nodes/s and allocated bytes per KB of source for every corpus entry.
+ * Only the validity check of the generated module runs by default, see {@link ErlangBenchmark#isEnabled()}.
+ *
+ * @author ignatov
+ */
+public class ErlangLexerParserBenchmarkTest extends JavaCodeInsightFixtureTestCase {
+  private static final String MOCK_SDK_LIB = "testData/mockSdk-R15B02/lib";
+  private static final int SYNTHETIC_LINES = 50000;
+  private static final int WARM_UP = 3;
+  private static final int ITERATIONS = 5;
+
+  public void testSyntheticModuleIsValid() {
+    PsiFile file = PsiFileFactory.getInstance(getProject()).createFileFromText("a.erl", ErlangFileType.MODULE, generateModule(100));
+    assertFalse(PsiTreeUtil.hasErrorElements(file));
+  }
+
+  public void testLexer() throws Exception {
+    if (!ErlangBenchmark.isEnabled()) return;
+    for (Map.Entry<String, String> entry : getCorpus().entrySet()) {
+      final String text = entry.getValue();
+      ErlangBenchmark.measure("lexer " + entry.getKey(), text.length(), WARM_UP, ITERATIONS, new ErlangBenchmark.Body() {
+        @Override
+        public long run() {
+          return lex(new ErlangLexer(), text);
+        }
+      });
+    }
+  }
+
+  public void testParser() throws Exception {
+    if (!ErlangBenchmark.isEnabled()) return;
+    final PsiFileFactory factory = PsiFileFactory.getInstance(getProject());
+    for (Map.Entry<String, String> entry : getCorpus().entrySet()) {
+      final String text = entry.getValue();
+      ErlangBenchmark.measure("parser " + entry.getKey(), text.length(), WARM_UP, ITERATIONS, new ErlangBenchmark.Body() {
+        @Override
+        public long run() {
+          PsiFile file = factory.createFileFromText("a.erl", ErlangFileType.MODULE, text);
+          return countNodes(file.getNode());
+        }
+      });
+    }
+  }
+
+  @NotNull
+  private static Map<String, String> getCorpus() throws Exception {
+    Map<String, String> corpus = new LinkedHashMap<String, String>();
+    File[] apps = new File(MOCK_SDK_LIB).listFiles();
+    assertNotNull(apps);
+    for (File app : apps) {
+      File[] sources = new File(app, "src").listFiles();
+      if (sources == null) continue;
+      for (File source : sources) {
+        if (source.getName().endsWith(".erl")) {
+          corpus.put(app.getName() + "/" + source.getName(), FileUtil.loadFile(source));
+        }
+      }
+    }
+    corpus.put("synthetic " + SYNTHETIC_LINES + " lines", generateModule(SYNTHETIC_LINES));
+    return corpus;
+  }
+
+  private static long lex(@NotNull Lexer lexer, @NotNull CharSequence text) {
+    long tokens = 0;
+    lexer.start(text);
+    while (lexer.getTokenType() != null) {
+      tokens++;
+      lexer.advance();
+    }
+    return tokens;
+  }
+
+  private static long countNodes(@NotNull ASTNode node) {
+    long count = 1;
+    for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+      count += countNodes(child);
+    }
+    return count;
+  }
+
+  /**
+   * Generates a module of roughly the given number of lines, mixing doc comments, records, macros,
+   * case/receive/try expressions and list comprehensions the way generated protocol modules do.
+   */
+  @NotNull
+  static String generateModule(int lines) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("%%% Synthetic benchmark module\n");
+    sb.append("-module(synthetic).\n");
+    sb.append("-compile(export_all).\n");
+    sb.append("-record(msg, {id = 0 :: integer(), name = <<>> :: binary(), tags = [] :: list()}).\n");
+    sb.append("-define(DEFAULT_TIMEOUT, 5000).\n\n");
+    int lineCount = 5;
+    for (int i = 0; lineCount < lines; i++) {
+      sb.append("%% @doc Decodes field ").append(i).append(".\n");
+      sb.append("-spec decode_").append(i).append("(binary(), #msg{}) -> #msg{}.\n");
+      sb.append("decode_").append(i).append("(<<Id:32, Rest/binary>>, #msg{tags = Tags} = Msg) ->\n");
+      sb.append("  case Rest of\n");
+      sb.append("    <<>> -> Msg#msg{id = Id};\n");
+      sb.append("    <<Len:16, Name:Len/binary, _/binary>> when Len > 0 ->\n");
+      sb.append("      Msg#msg{id = Id, name = Name, tags = [T || T <- Tags, T =/= ").append(i).append("]};\n");
+      sb.append("    _ ->\n");
+      sb.append("      try lists:foldl(fun(X, Acc) -> X + Acc end, 0, Tags) of\n");
+      sb.append("        Sum -> Msg#msg{id = Sum}\n");
+      sb.append("      catch\n");
+      sb.append("        error:Reason -> erlang:error({bad_msg, ?MODULE, Reason})\n");
+      sb.append("      end\n");
+      sb.append("  end;\n");
+      sb.append("decode_").append(i).append("(_, Msg) ->\n");
+      sb.append("  receive\n");
+      sb.append("    {update, Msg2} -> Msg2\n");
+      sb.append("  after ?DEFAULT_TIMEOUT -> Msg\n");
+      sb.append("  end.\n\n");
+      lineCount += 20;
+    }
+    return sb.toString();
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.benchmark;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.impl.PsiModificationTrackerImpl;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import com.intellij.util.ThrowableRunnable;
+import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.psi.ErlangQVar;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Variable resolution over a large module where most variable uses are unbound, which used to fall back
+ * to a walk over the enclosing module for every one of them.
+ * Only the resolution check runs by default, see {@link ErlangBenchmark#isEnabled()}.
+ *
+ * @author ignatov
+ */
+public class ErlangVariableResolveBenchmarkTest extends JavaCodeInsightFixtureTestCase {
+  private static final int FUNCTIONS = 2000;
+  private static final int WARM_UP = 3;
+  private static final int ITERATIONS = 5;
+
+  public void testUnboundVariablesStayUnresolved() {
+    Collection<ErlangQVar> vars = getVars(generateModule(10));
+    int resolved = 0;
+    for (ErlangQVar var : vars) {
+      PsiReference reference = var.getReference();
+      if (reference != null && reference.resolve() != null) resolved++;
+    }
+    // per function: Arg and Bound uses, the spec's second T, the type's second E
+    assertEquals(10 * 4, resolved);
+  }
+
+  public void testResolveUnboundVariables() throws Exception {
+    if (!ErlangBenchmark.isEnabled()) return;
+    String text = generateModule(FUNCTIONS);
+    final Collection<ErlangQVar> vars = getVars(text);
+    final PsiModificationTrackerImpl tracker = (PsiModificationTrackerImpl) PsiManager.getInstance(getProject()).getModificationTracker();
+    final ErlangBenchmark.Body body = new ErlangBenchmark.Body() {
+      @Override
+      public long run() {
+        tracker.incCounter(); // drop the cached binding tables
+        for (ErlangQVar var : vars) {
+          PsiReference reference = var.getReference();
+          if (reference != null) reference.resolve();
+        }
+        return vars.size();
+      }
+    };
+    ErlangBenchmark.measure("resolve " + vars.size() + " variables", text.length(), WARM_UP, ITERATIONS, body);
+
+    PlatformTestUtil.startPerformanceTest("resolving " + vars.size() + " variables", 2000, new ThrowableRunnable() {
+      @Override
+      public void run() throws Throwable {
+        body.run();
+      }
+    }).assertTiming();
+  }
+
+  @NotNull
+  private Collection<ErlangQVar> getVars(@NotNull String text) {
+    PsiFile file = PsiFileFactory.getInstance(getProject()).createFileFromText("a.erl", ErlangFileType.MODULE, text);
+    return PsiTreeUtil.findChildrenOfType(file, ErlangQVar.class);
+  }
+
+  @NotNull
+  private static String generateModule(int functions) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("-module(unbound).\n");
+    sb.append("-compile(export_all).\n\n");
+    for (int i = 0; i < functions; i++) {
+      sb.append("-type list_").append(i).append("(E) :: [E].\n");
+      sb.append("-spec f").append(i).append("(T) -> T.\n");
+      sb.append("f").append(i).append("(Arg) ->\n");
+      sb.append("  Bound = {Arg, Unbound1},\n");
+      sb.append("  [Unbound2, Unbound3 | Bound] ++ [Unbound4].\n\n");
+    }
+    return sb.toString();
+  }
+}
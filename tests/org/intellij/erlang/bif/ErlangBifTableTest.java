@@ -0,0 +1,56 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.bif;
+
+import junit.framework.TestCase;
+import org.intellij.erlang.sdk.ErlangSdkRelease;
+
+/**
+ * @author ignatov
+ */
+public class ErlangBifTableTest extends TestCase {
+  public void testLatest() throws Exception {
+    ErlangBifTable table = ErlangBifTable.getInstance((ErlangSdkRelease) null);
+    assertTrue(table.isBif("erlang", "abs", 1));
+    assertTrue(table.isBif("erlang", "binary_part", 3));
+    assertTrue(table.isBif("erlang", "universaltime_to_posixtime", 1));
+    assertFalse(table.isBif("erlang", "abs", 2));
+    assertFalse(table.isBif("erlang", "no_such_bif", 1));
+    assertFalse(table.isBif("no_such_module", "abs", 1));
+  }
+
+  public void testReleaseSpecific() throws Exception {
+    ErlangBifTable r13 = ErlangBifTable.getInstance(ErlangSdkRelease.R13B04);
+    assertTrue(r13.isBif("erlang", "binary_to_term", 2));
+    assertFalse(r13.isBif("erlang", "binary_part", 3));
+    assertTrue(r13.getModuleBifs("binary").isEmpty());
+
+    ErlangBifTable r14 = ErlangBifTable.getInstance(ErlangSdkRelease.R14B04);
+    assertTrue(r14.isBif("erlang", "check_old_code", 1));
+    assertFalse(r14.isBif("erlang", "universaltime_to_posixtime", 1));
+
+    assertTrue(ErlangBifTable.getInstance(ErlangSdkRelease.R16B).isBif("erlang", "dt_get_tag", 0));
+  }
+
+  public void testModuleBifsMatchLookup() throws Exception {
+    ErlangBifTable table = ErlangBifTable.getInstance(ErlangSdkRelease.R15B02);
+    for (ErlangBifDescriptor bif : table.getModuleBifs("erlang")) {
+      assertTrue(bif.toString(), table.isBif(bif.getModule(), bif.getName(), bif.getArity()));
+    }
+  }
+}
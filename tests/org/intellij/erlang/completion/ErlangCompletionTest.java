@@ -17,8 +17,12 @@
 package org.intellij.erlang.completion;
 
 import com.intellij.codeInsight.completion.CompletionType;
+import com.intellij.codeInsight.lookup.LookupElement;
+import com.intellij.codeInsight.lookup.LookupElementPresentation;
+import com.intellij.openapi.util.Condition;
 import com.intellij.testFramework.UsefulTestCase;
 import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import com.intellij.util.containers.ContainerUtil;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -32,8 +36,10 @@ public class ErlangCompletionTest extends JavaCodeInsightFixtureTestCase {
   enum CheckType { EQUALS, INCLUDES, EXCLUDES }
 
   public void testKeywords1() throws Throwable { doTestInclude("-<caret>", "module", "record", "define"); }
+  public void testKeywordsAfterForms() throws Throwable { doTestInclude("-module(a).\nfoo() -> ok.\nbar() -> <caret>", "case", "receive", "try"); }
   public void testVariablesFromDefinition() throws Throwable { doTestInclude("foo(A, B, C)-> <caret>", "A", "B", "C"); }
   public void testVariablesFromBody() throws Throwable { doTestInclude("foo(A, B, C)-> D=1, <caret>", "A", "B", "C", "D"); }
+  public void testVariablesFromModuleParameters() throws Throwable { doTestInclude("-module(a, [Name, Count]).\nfoo(A) -> <caret>", "A", "Name", "Count"); }
   public void testFunctions() throws Throwable {
     doTestInclude(
       "foo() -> ok.\n" +
@@ -48,6 +54,28 @@ public class ErlangCompletionTest extends JavaCodeInsightFixtureTestCase {
       "bar(A)-> A#<caret>", "foo", "buz");
   }
 
+  public void testRecordsFromTransitiveIncludes() throws Throwable {
+    myFixture.addFileToProject("lib/include/deep.hrl", "-record(deep, {id}).");
+    myFixture.addFileToProject("top.hrl", "-include_lib(\"lib/include/deep.hrl\").\n-record(top, {id}).");
+    doTestInclude(
+      "-include(\"top.hrl\").\n" +
+      "bar(A)-> A#<caret>", "top", "deep");
+  }
+
+  public void testMacrosFromIncludes() throws Throwable {
+    myFixture.addFileToProject("defs.hrl", "-define(included_macros, 1).\n-type included_type() :: atom().");
+    doTestInclude(
+      "-include(\"defs.hrl\").\n" +
+      "bar(A)-> ?<caret>", "included_macros");
+  }
+
+  public void testTypesFromIncludes() throws Throwable {
+    myFixture.addFileToProject("defs.hrl", "-define(included_macros, 1).\n-type included_type() :: atom().");
+    doTestInclude(
+      "-include(\"defs.hrl\").\n" +
+      "-record(rec, {id :: <caret>}).", "included_type");
+  }
+
   public void testMacros() throws Throwable {
     doTestInclude(
       "-define(foo, 1).\n" +
@@ -97,6 +125,37 @@ public class ErlangCompletionTest extends JavaCodeInsightFixtureTestCase {
     doTestInclude("foo() -> lists:<caret>", "member", "reverse", "keysearch");
   }
 
+  public void testExportedFunctionsFromModules() throws Throwable {
+    myFixture.addFileToProject("remote.erl", "-module(remote).\n-export([foo/0]).\nfoo() -> ok.\nbar() -> ok.");
+    myFixture.configureByText("a.erl", "zoo() -> remote:<caret>");
+    doTestVariantsInner(CompletionType.BASIC, 1, CheckType.EQUALS, "foo");
+  }
+
+  public void testExportedFunctionSpecInTail() throws Throwable {
+    myFixture.addFileToProject("remote.erl", "-module(remote).\n-export([foo/1]).\n-spec foo(Name :: atom()) -> ok.\nfoo(_) -> ok.");
+    myFixture.configureByText("a.erl", "zoo() -> remote:<caret>");
+    LookupElement[] elements = myFixture.complete(CompletionType.BASIC);
+    assertNotNull(elements);
+    LookupElement foo = ContainerUtil.find(elements, new Condition<LookupElement>() {
+      @Override
+      public boolean value(LookupElement element) {
+        return "foo".equals(element.getLookupString());
+      }
+    });
+    assertNotNull(foo);
+    LookupElementPresentation presentation = LookupElementPresentation.renderElement(foo);
+    assertEquals("/1 (Name :: atom())", presentation.getTailText());
+    assertEquals("ok", presentation.getTypeText());
+  }
+
+  public void testModules() throws Throwable {
+    myFixture.addFileToProject("buzz.erl", "-module(buzz).");
+    myFixture.addFileToProject("bubble.erl", "-module(bubble).");
+    myFixture.addFileToProject("other.erl", "-module(other).");
+    myFixture.configureByText("a.erl", "zoo() -> bu<caret>");
+    doTestVariantsInner(CompletionType.BASIC, 2, CheckType.INCLUDES, "buzz", "bubble");
+  }
+
   private void doTestInclude(String txt, String... variants) throws Throwable {
     doTestVariants(txt, CompletionType.BASIC, 1, CheckType.INCLUDES, variants);
   }
@@ -75,4 +75,18 @@ public class ErlangDocumentationProviderTest extends LightCodeInsightFixtureTest
         "test() ->\n" +
         "    lis<caret>ts:foreach(foo, bar).\n");
   }
-}
\ No newline at end of file
+
+  public void testFunctionDocTags() throws Exception {
+    myFixture.configureByText("test.erl",
+      "-module(test).\n" +
+        "%% @doc Adds one.\n" +
+        "%% Not a tag: a@doc, @unknown\n" +
+        "%% @see foo/0\n" +
+        "foo(X) -> X + 1.\n" +
+        "bar() -> fo<caret>o(1).\n");
+    PsiElement resolve = myFixture.getFile().findReferenceAt(myFixture.getEditor().getCaretModel().getOffset()).resolve();
+    assertNotNull(resolve);
+    assertEquals("<b>Comment:</b><br/> <b>@doc</b> Adds one.<br/> Not a tag: a@doc, @unknown<br/> <b>@see</b> foo/0",
+      myErlangDocProvider.generateDoc(resolve, null));
+  }
+}
@@ -71,6 +71,8 @@ public class ErlangHighlightingTest extends LightPlatformCodeInsightFixtureTestC
   public void test154()               { doTest(); }
   public void test155()               { doTest(); }
   public void test158()               { doTest(); }
+  public void testVariableScopes()    { doTest(); }
+  public void testmodparams()         { doTest(); } // parameterized module
 
   public void testUnresolvedMacros()  {
     //noinspection unchecked
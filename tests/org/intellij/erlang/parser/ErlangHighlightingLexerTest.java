@@ -0,0 +1,175 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.parser;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.colors.EditorColorsManager;
+import com.intellij.openapi.editor.ex.util.LexerEditorHighlighter;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import org.intellij.erlang.editor.ErlangSyntaxHighlighter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author ignatov
+ */
+public class ErlangHighlightingLexerTest extends JavaCodeInsightFixtureTestCase {
+  private static final String TEXT =
+    "%%% module doc\n" +
+    "%%% @author me\n" +
+    "\n" +
+    "-module(a).\n" +
+    "%% @doc function doc\n" +
+    "%%% mixed\n" +
+    "   %% indented\n" +
+    "% plain comment\n" +
+    "foo() -> ok.\n" +
+    "-record(r, {a}).\n" +
+    "bar(X) -> {?MODULE, ? Spaced, ?Var, ??X, X#r.a, #r{},\n" +
+    "  X - 1}.\n";
+
+  public void testDocCommentLines() {
+    List<String> tokens = lex(new ErlangHighlightingLexer(), TEXT, 0);
+    assertTrue(tokens.contains("module_doc_comment: %%% module doc"));
+    assertOrderedEquals(tokens.subList(tokens.indexOf("edoc_tag: @author") - 1, tokens.indexOf("edoc_tag: @author") + 2),
+                        "module_doc_comment: %%% ", "edoc_tag: @author", "module_doc_comment:  me");
+    assertTrue(tokens.contains("function_doc_comment: %% "));
+    assertTrue(tokens.contains("edoc_tag: @doc"));
+    assertTrue(tokens.contains("function_doc_comment:  function doc"));
+    assertTrue(tokens.contains("module_doc_comment: %%% mixed"));
+    assertTrue(tokens.contains("function_doc_comment: %% indented"));
+  }
+
+  public void testAttributeMacroAndRecordNames() {
+    List<String> tokens = lex(new ErlangHighlightingLexer(), TEXT, 0);
+    assertTrue(tokens.contains("attribute_keyword: module"));
+    assertTrue(tokens.contains("attribute_keyword: record"));
+    assertEquals(2, Collections.frequency(tokens, "attribute_keyword: -"));
+    assertTrue(tokens.contains("macro_name: MODULE"));
+    assertTrue(tokens.contains("macro_name: Var"));
+    assertTrue(tokens.contains("var: Spaced"));
+    assertEquals(2, Collections.frequency(tokens, "record_name: r"));
+    assertEquals(4, Collections.frequency(tokens, "var: X"));
+    assertTrue(tokens.contains("-: -"));
+  }
+
+  public void testRestartFromEveryToken() {
+    ErlangHighlightingLexer lexer = new ErlangHighlightingLexer();
+    List<String> tokens = lex(lexer, TEXT, 0);
+    List<Integer> starts = new ArrayList<Integer>();
+    List<Integer> indices = new ArrayList<Integer>();
+    lexer.start(TEXT);
+    for (int i = 0; lexer.getTokenType() != null; i++) {
+      if (lexer.getState() == 0) {
+        starts.add(lexer.getTokenStart());
+        indices.add(i);
+      }
+      else {
+        // only the parts of a doc comment line after its first token are not restart points
+        assertTrue(tokens.get(i), tokens.get(i).startsWith("edoc_tag") || tokens.get(i - 1).startsWith("edoc_tag"));
+      }
+      lexer.advance();
+    }
+    for (int i = 0; i < starts.size(); i++) {
+      assertOrderedEquals(lex(new ErlangHighlightingLexer(), TEXT, starts.get(i)), tokens.subList(indices.get(i), tokens.size()));
+    }
+  }
+
+  public void testRelexCostDoesNotDependOnCommentSize() {
+    int small = scannedCharsAfterEdit(100);
+    int huge = scannedCharsAfterEdit(20000);
+    assertTrue("scanned " + huge + " chars, " + small + " for a small comment", huge <= small);
+  }
+
+  private static int scannedCharsAfterEdit(final int commentLines) {
+    final String line = "%% @doc some function documentation\n";
+    final String text = StringUtil.repeat(line, commentLines) + "foo() -> ok.\n";
+    final CountingLexer lexer = new CountingLexer();
+    final LexerEditorHighlighter highlighter = new LexerEditorHighlighter(new ErlangSyntaxHighlighter() {
+      @NotNull
+      @Override
+      public Lexer getHighlightingLexer() {
+        return lexer;
+      }
+    }, EditorColorsManager.getInstance().getGlobalScheme());
+    final Document document = EditorFactory.getInstance().createDocument(text);
+    highlighter.setText(document.getText());
+    document.addDocumentListener(highlighter);
+
+    lexer.myScannedChars = 0;
+    ApplicationManager.getApplication().runWriteAction(new Runnable() {
+      @Override
+      public void run() {
+        document.insertString(line.length() * (commentLines / 2) + 3, "x");
+      }
+    });
+    return lexer.myScannedChars;
+  }
+
+  @NotNull
+  private static List<String> lex(@NotNull Lexer lexer, @NotNull String text, int start) {
+    List<String> result = new ArrayList<String>();
+    lexer.start(text, start, text.length(), 0);
+    while (lexer.getTokenType() != null) {
+      result.add(lexer.getTokenType() + ": " + text.substring(lexer.getTokenStart(), lexer.getTokenEnd()));
+      lexer.advance();
+    }
+    return result;
+  }
+
+  /**
+   * Counts every character read from the buffer, by this lexer and by the lexers it delegates to.
+   */
+  private static class CountingLexer extends ErlangHighlightingLexer {
+    private int myScannedChars;
+
+    @Override
+    public void start(@NotNull final CharSequence buffer, int startOffset, int endOffset, int initialState) {
+      super.start(new CharSequence() {
+        @Override
+        public int length() {
+          return buffer.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+          myScannedChars++;
+          return buffer.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+          return buffer.subSequence(start, end);
+        }
+
+        @NotNull
+        @Override
+        public String toString() {
+          return buffer.toString();
+        }
+      }, startOffset, endOffset, initialState);
+    }
+  }
+}
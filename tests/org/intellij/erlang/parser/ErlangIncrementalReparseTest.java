@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.intellij.erlang.parser;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.psi.tree.ILazyParseableElementType;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.ErlangTypes;
+import org.intellij.erlang.psi.ErlangClauseBody;
+import org.intellij.erlang.psi.ErlangFile;
+import org.intellij.erlang.psi.ErlangFunction;
+
+/**
+ * @author ignatov
+ */
+public class ErlangIncrementalReparseTest extends JavaCodeInsightFixtureTestCase {
+  public void testClauseBody()      { doTest("foo() -> <caret>ok.\nbar() -> ok.", "1, ", true); }
+  public void testClauseArguments() { doTest("foo(<caret>) -> ok.\nbar() -> ok.", "A, B", true); }
+  public void testNewClause()       { doTest("foo() -> ok<caret>.\nbar() -> ok.", ";\nfoo(1) -> ok", false); }
+  public void testNewForm()         { doTest("foo() -> ok<caret>.\nbar() -> ok.", ".\nbuzz() -> ok", false); }
+  public void testErroneousBody()   { doTest("foo() -> <caret>ok.\nbar() -> ok.", "#r{id, }, ", false); }
+
+  public void testChameleonKeepsPinnedErrors() { doTestChameleonErrors("-> #r{id, }"); }
+  public void testChameleonKeepsTrailingTokens() { doTestChameleonErrors("-> ok ok"); }
+
+  private void doTestChameleonErrors(String bodyText) {
+    myFixture.configureByText("a.erl", "foo() -> ok.");
+    final ASTNode body = PsiTreeUtil.findChildOfType(myFixture.getFile(), ErlangClauseBody.class).getNode();
+    final ASTNode chameleon = ((ILazyParseableElementType) ErlangTypes.ERL_CLAUSE_BODY).createNode(bodyText);
+    new WriteCommandAction.Simple(getProject()) {
+      @Override
+      protected void run() throws Throwable {
+        body.getTreeParent().replaceChild(body, chameleon);
+      }
+    }.execute();
+    assertEquals(bodyText, chameleon.getText());
+    assertNotNull(DebugUtil.psiToString(chameleon.getPsi(), false), PsiTreeUtil.findChildOfType(chameleon.getPsi(), PsiErrorElement.class));
+  }
+
+  private void doTest(String text, String typed, boolean reparsedLocally) {
+    myFixture.configureByText("a.erl", text);
+    ErlangFunction bar = ((ErlangFile) myFixture.getFile()).getFunction("bar", 0);
+    assertNotNull(bar);
+    myFixture.type(typed);
+    PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+    PsiFile file = myFixture.getFile();
+    PsiFile fresh = PsiFileFactory.getInstance(getProject()).createFileFromText("fresh.erl", ErlangFileType.MODULE, file.getText());
+    assertEquals(DebugUtil.psiToString(fresh, false), DebugUtil.psiToString(file, false));
+    assertEquals(PsiTreeUtil.hasErrorElements(fresh), PsiTreeUtil.hasErrorElements(file));
+    if (reparsedLocally) {
+      assertTrue(bar.isValid());
+    }
+  }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2013 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.parser;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import org.intellij.erlang.ErlangFileType;
+import org.intellij.erlang.benchmark.ErlangBenchmark;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the whole testData/parser corpus, including the files with syntax errors, many times in a row.
+ * Reports files/s and allocated bytes per KB of source; runs only when {@link ErlangBenchmark#isEnabled()}.
+ *
+ * @author ignatov
+ */
+public class ErlangParserBenchmarkTest extends JavaCodeInsightFixtureTestCase {
+  private static final int WARM_UP = 5;
+  private static final int ITERATIONS = 20;
+
+  public void testParserCorpus() throws Exception {
+    if (!ErlangBenchmark.isEnabled()) return;
+    final List<String> texts = new ArrayList<String>();
+    File[] files = new File("testData/parser").listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.endsWith(".erl");
+      }
+    });
+    assertNotNull(files);
+    long sourceBytes = 0;
+    for (File file : files) {
+      String text = FileUtil.loadFile(file);
+      texts.add(text);
+      sourceBytes += text.length();
+    }
+
+    final PsiFileFactory factory = PsiFileFactory.getInstance(getProject());
+    ErlangBenchmark.measure("parser testData/parser (" + texts.size() + " files)", sourceBytes, WARM_UP, ITERATIONS, new ErlangBenchmark.Body() {
+      @Override
+      public long run() {
+        for (String text : texts) {
+          PsiFile file = factory.createFileFromText("a.erl", ErlangFileType.MODULE, text);
+          assertNotNull(file.getNode().getFirstChildNode());
+        }
+        return texts.size();
+      }
+    });
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2012 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.resolve;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import org.intellij.erlang.psi.ErlangMacrosDefinition;
+import org.intellij.erlang.psi.ErlangRecordDefinition;
+import org.intellij.erlang.psi.ErlangTypeDefinition;
+
+/**
+ * @author ignatov
+ */
+public class ErlangIncludeResolveTest extends LightCodeInsightFixtureTestCase {
+  public void testRecord()         { doTest("-record(rec, {id}).", "f(R) -> R#r<caret>ec.id.", ErlangRecordDefinition.class); }
+  public void testType()           { doTest("-type my_type() :: atom().", "-spec f() -> my_<caret>type().\nf() -> ok.", ErlangTypeDefinition.class); }
+  public void testMacros()         { doTest("-define(MAX, 1).", "f() -> ?MA<caret>X.", ErlangMacrosDefinition.class); }
+  public void testTransitiveType() {
+    myFixture.addFileToProject("deep.hrl", "-type deep_type() :: atom().");
+    doTest("-include(\"deep.hrl\").", "-spec f() -> deep_<caret>type().\nf() -> ok.", ErlangTypeDefinition.class, "deep.hrl");
+  }
+
+  private void doTest(String header, String text, Class<? extends PsiElement> expectedClass) {
+    doTest(header, text, expectedClass, "defs.hrl");
+  }
+
+  private void doTest(String header, String text, Class<? extends PsiElement> expectedClass, String expectedFile) {
+    myFixture.addFileToProject("defs.hrl", header);
+    myFixture.configureByText("a.erl", "-module(a).\n-include(\"defs.hrl\").\n" + text);
+    PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+    assertNotNull(reference);
+    PsiElement resolved = reference.resolve();
+    assertInstanceOf(resolved, expectedClass);
+    assertEquals(expectedFile, resolved.getContainingFile().getName());
+  }
+}
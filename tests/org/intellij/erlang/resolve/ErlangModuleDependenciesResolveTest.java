@@ -0,0 +1,70 @@
+/*
+ * Copyright 2012 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.resolve;
+
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.roots.ModuleRootModificationUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.testFramework.PsiTestUtil;
+import com.intellij.testFramework.fixtures.JavaCodeInsightFixtureTestCase;
+import org.intellij.erlang.editor.ErlangModuleType;
+import org.intellij.erlang.psi.ErlangFunction;
+
+/**
+ * Remote calls between modules (rebar apps) with and without a module dependency between them.
+ *
+ * @author ignatov
+ */
+public class ErlangModuleDependenciesResolveTest extends JavaCodeInsightFixtureTestCase {
+  private static final String LIB_MOD = "-module(lib_mod).\n-export([f/0]).\nf() -> ok.";
+
+  public void testCallIntoDependency() throws Exception {
+    ModuleRootModificationUtil.addDependency(myModule, createModule("other"));
+    myFixture.addFileToProject("other/lib_mod.erl", LIB_MOD);
+    assertCallResolvedInto("other/lib_mod.erl");
+  }
+
+  public void testCallWithoutDependency() throws Exception {
+    createModule("other");
+    myFixture.addFileToProject("other/lib_mod.erl", LIB_MOD);
+    assertCallResolvedInto("other/lib_mod.erl");
+  }
+
+  public void testDependencyIsPreferred() throws Exception {
+    ModuleRootModificationUtil.addDependency(myModule, createModule("other"));
+    createModule("unrelated");
+    myFixture.addFileToProject("unrelated/lib_mod.erl", LIB_MOD);
+    myFixture.addFileToProject("other/lib_mod.erl", LIB_MOD);
+    assertCallResolvedInto("other/lib_mod.erl");
+  }
+
+  private Module createModule(String name) throws Exception {
+    VirtualFile root = myFixture.getTempDirFixture().findOrCreateDir(name);
+    return PsiTestUtil.addModule(getProject(), ErlangModuleType.getInstance(), name, root);
+  }
+
+  private void assertCallResolvedInto(String expectedPath) {
+    myFixture.configureByText("caller.erl", "-module(caller).\nbar() -> lib_mod:<caret>f().");
+    PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+    assertNotNull(reference);
+    PsiElement resolved = reference.resolve();
+    assertInstanceOf(resolved, ErlangFunction.class);
+    assertEquals(myFixture.getTempDirFixture().getFile(expectedPath), resolved.getContainingFile().getVirtualFile());
+  }
+}
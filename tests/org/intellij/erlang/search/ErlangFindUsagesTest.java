@@ -0,0 +1,85 @@
+/*
+ * Copyright 2012 Sergey Ignatov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.intellij.erlang.search;
+
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.usageView.UsageInfo;
+import com.intellij.util.Processor;
+import org.intellij.erlang.ErlangWordsScanner;
+import org.intellij.erlang.psi.ErlangFunction;
+import org.intellij.erlang.psi.ErlangMacrosDefinition;
+import org.intellij.erlang.psi.ErlangRecordDefinition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author ignatov
+ */
+public class ErlangFindUsagesTest extends LightCodeInsightFixtureTestCase {
+  private static final String MY_MOD = "-module(my_mod).\n-export([f/0]).\nf<caret>() -> ok.\n";
+
+  public void testQuotedModuleCall() { doTest("-module(caller).\nbar() -> 'my_mod':f().", 2); }
+  public void testQuotedFunctionCall() { doTest("-module(caller).\nbar() -> my_mod:'f'().", 2); }
+  public void testUnquotedModuleCall() { doTest("-module(caller).\nbar() -> my_mod:f().", 2); }
+
+  public void testQuotedAtomFunction() {
+    myFixture.configureByText("q.erl", "-module(q).\n-export(['quoted atom'/0]).\n'quoted <caret>atom'() -> ok.\nbar() -> 'quoted atom'().");
+    assertUsages(ErlangFunction.class, 2);
+  }
+
+  public void testMacroUsages() {
+    myFixture.configureByText("m.erl", "-module(m).\n-define(MA<caret>X, 10).\nf(X) -> X < ?MAX.\ng() -> ?MAX.");
+    assertUsages(ErlangMacrosDefinition.class, 2);
+  }
+
+  public void testRecordUsages() {
+    myFixture.configureByText("r.erl", "-module(r).\n-record(re<caret>c, {id}).\nf() -> #rec{}.\ng(R) -> R#rec.id.");
+    assertUsages(ErlangRecordDefinition.class, 2);
+  }
+
+  public void testWords() {
+    final List<String> words = new ArrayList<String>();
+    new ErlangWordsScanner().processWords("f(Var) -> {'quoted atom', ?MAX, #rec{}, \"some text\"}. % a comment", new Processor<WordOccurrence>() {
+      @Override
+      public boolean process(WordOccurrence occurrence) {
+        words.add(occurrence.getKind() + ":" + occurrence.getBaseText().subSequence(occurrence.getStart(), occurrence.getEnd()));
+        return true;
+      }
+    });
+    assertOrderedEquals(words,
+      "CODE:f", "CODE:Var", "CODE:quoted", "CODE:atom", "CODE:MAX", "CODE:rec", "LITERALS:some", "LITERALS:text", "COMMENTS:a", "COMMENTS:comment");
+  }
+
+  private void doTest(String callerText, int expectedUsages) {
+    myFixture.addFileToProject("caller.erl", callerText);
+    myFixture.configureByText("my_mod.erl", MY_MOD);
+    assertUsages(ErlangFunction.class, expectedUsages);
+  }
+
+  private void assertUsages(Class<? extends PsiElement> targetClass, int expectedUsages) {
+    PsiElement element = myFixture.getFile().findElementAt(myFixture.getCaretOffset());
+    PsiElement target = PsiTreeUtil.getParentOfType(element, targetClass);
+    assertNotNull(target);
+    Collection<UsageInfo> usages = myFixture.findUsages(target);
+    assertEquals(expectedUsages, usages.size());
+  }
+}